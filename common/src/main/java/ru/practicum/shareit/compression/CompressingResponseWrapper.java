@@ -0,0 +1,408 @@
+package ru.practicum.shareit.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Optional;
+
+/**
+ * Копит тело ответа только до порога сжатия, потом выбирает режим и пишет дальше потоком:
+ * как есть, через кодировщик или, если приложение вернуло тело в кодировании, которого клиент не принимает,
+ * целиком в буфер для перекодирования в {@link #finish()}. Пока режим не выбран, flush() ничего не отправляет,
+ * а Content-Encoding и Content-Length, выставленные приложением, придерживаются до решения.
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+    private final CompressionProperties properties;
+    @Nullable
+    private final String acceptEncoding;
+    private final ServletOutputStream outputStream = new CompressingOutputStream();
+
+    private Mode mode = Mode.UNDECIDED;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    @Nullable
+    private String contentEncoding;
+    private long contentLength = -1;
+    @Nullable
+    private ContentCoding coding;
+    @Nullable
+    private OutputStream target;
+    @Nullable
+    private CountingOutputStream encoded;
+    private long uncompressed;
+    @Nullable
+    private PrintWriter writer;
+
+    CompressingResponseWrapper(HttpServletResponse response, CompressionProperties properties,
+                               @Nullable String acceptEncoding) {
+        super(response);
+        this.properties = properties;
+        this.acceptEncoding = acceptEncoding;
+    }
+
+    @Nullable
+    ContentCoding getCoding() {
+        return coding;
+    }
+
+    /**
+     * Дописывает ответ и закрывает кодировщик.
+     *
+     * @return сколько байт сэкономило сжатие
+     */
+    long finish() throws IOException {
+        if (mode == Mode.BYPASS) {
+            return 0;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        if (mode == Mode.UNDECIDED) {
+            decide(true);
+        }
+        if (mode == Mode.DECODE) {
+            byte[] decoded = ContentCoding.of(contentEncoding).orElseThrow().decode(buffer.toByteArray());
+            contentEncoding = null;
+            contentLength = -1;
+            buffer = new ByteArrayOutputStream(decoded.length);
+            buffer.writeBytes(decoded);
+            decide(true);
+        }
+        long saved = 0;
+        if (mode == Mode.ENCODE) {
+            target.close();
+            saved = uncompressed - encoded.count;
+        }
+        getResponse().flushBuffer();
+        return saved;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        return mode == Mode.BYPASS ? super.getOutputStream() : outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (mode == Mode.BYPASS) {
+            return super.getWriter();
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        } else {
+            flushStream();
+        }
+    }
+
+    private void flushStream() throws IOException {
+        switch (mode) {
+            case UNDECIDED, DECODE -> {
+            }
+            case ENCODE -> {
+                target.flush();
+                super.flushBuffer();
+            }
+            default -> super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (mode == Mode.UNDECIDED || mode == Mode.DECODE) {
+            buffer.reset();
+        } else {
+            super.resetBuffer();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        mode = Mode.UNDECIDED;
+        buffer = new ByteArrayOutputStream();
+        contentEncoding = null;
+        contentLength = -1;
+        coding = null;
+        target = null;
+        encoded = null;
+        uncompressed = 0;
+        writer = null;
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        bypass();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        bypass();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        bypass();
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        switch (mode) {
+            case UNDECIDED -> contentLength = len;
+            case IDENTITY, BYPASS -> super.setContentLengthLong(len);
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (!intercept(name, value)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (!intercept(name, value)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (!intercept(name, String.valueOf(value))) {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (!intercept(name, String.valueOf(value))) {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        if (mode != Mode.BYPASS && HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+            return contentEncoding != null || super.containsHeader(name);
+        }
+        return super.containsHeader(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (mode != Mode.BYPASS && HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) && contentEncoding != null) {
+            return contentEncoding;
+        }
+        return super.getHeader(name);
+    }
+
+    private boolean intercept(String name, String value) {
+        if (mode == Mode.BYPASS) {
+            return false;
+        }
+        if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+            contentEncoding = value;
+            return true;
+        }
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+            return true;
+        }
+        return false;
+    }
+
+    private void bypass() {
+        mode = Mode.BYPASS;
+        buffer = null;
+        contentEncoding = null;
+        contentLength = -1;
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        switch (mode) {
+            case UNDECIDED -> {
+                buffer.write(b, off, len);
+                if (!isBuffered() || buffer.size() >= properties.getMinResponseSize().toBytes()) {
+                    decide(false);
+                }
+            }
+            case DECODE -> buffer.write(b, off, len);
+            case ENCODE -> {
+                uncompressed += len;
+                target.write(b, off, len);
+            }
+            case IDENTITY -> target.write(b, off, len);
+            case BYPASS -> super.getOutputStream().write(b, off, len);
+        }
+    }
+
+    /**
+     * Копить тело стоит, только если его, возможно, придётся сжимать или перекодировать.
+     */
+    private boolean isBuffered() {
+        if (contentEncoding != null) {
+            return ContentCoding.of(contentEncoding)
+                    .filter(upstream -> !ContentCoding.isAccepted(acceptEncoding, upstream))
+                    .isPresent();
+        }
+        return isCompressible() && ContentCoding.negotiate(acceptEncoding, properties.getEncodings()).isPresent();
+    }
+
+    private void decide(boolean finished) throws IOException {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (contentEncoding != null) {
+            Optional<ContentCoding> upstream = ContentCoding.of(contentEncoding);
+            if (upstream.isPresent() && !ContentCoding.isAccepted(acceptEncoding, upstream.get())) {
+                mode = Mode.DECODE;
+                return;
+            }
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            identity(finished);
+            return;
+        }
+        if (!isCompressible()) {
+            identity(finished);
+            return;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Optional<ContentCoding> negotiated = ContentCoding.negotiate(acceptEncoding, properties.getEncodings());
+        if (negotiated.isEmpty() || finished && buffer.size() < properties.getMinResponseSize().toBytes()) {
+            identity(finished);
+            return;
+        }
+        encode(negotiated.get());
+    }
+
+    private void identity(boolean finished) throws IOException {
+        mode = Mode.IDENTITY;
+        if (finished && buffer.size() > 0) {
+            super.setContentLengthLong(buffer.size());
+        } else if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+        target = super.getOutputStream();
+        buffer.writeTo(target);
+        buffer = null;
+    }
+
+    private void encode(ContentCoding negotiated) throws IOException {
+        mode = Mode.ENCODE;
+        coding = negotiated;
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, negotiated.token());
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        }
+        encoded = new CountingOutputStream(super.getOutputStream());
+        target = negotiated.encoding(encoded);
+        uncompressed = buffer.size();
+        buffer.writeTo(target);
+        buffer = null;
+    }
+
+    private boolean isCompressible() {
+        String contentType = getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return properties.getMimeTypes().stream()
+                .map(MediaType::parseMediaType)
+                .anyMatch(mimeType -> mimeType.includes(mediaType));
+    }
+
+    private enum Mode {
+        UNDECIDED, IDENTITY, ENCODE, DECODE, BYPASS
+    }
+
+    private class CompressingOutputStream extends ServletOutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            CompressingResponseWrapper.this.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushStream();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new IllegalStateException("Неблокирующая запись сжимаемого ответа не поддерживается");
+        }
+    }
+
+    /**
+     * Считает байты после кодировщика; close() только сбрасывает буфер, поток контейнера закрывает сам контейнер.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
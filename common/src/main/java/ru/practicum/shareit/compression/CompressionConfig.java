@@ -0,0 +1,21 @@
+package ru.practicum.shareit.compression;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CompressionProperties.class)
+public class CompressionConfig {
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter(CompressionProperties properties,
+                                                                       MeterRegistry meterRegistry) {
+        FilterRegistrationBean<CompressionFilter> registration =
+                new FilterRegistrationBean<>(new CompressionFilter(properties, meterRegistry));
+        registration.setEnabled(properties.isEnabled());
+        registration.setOrder(0);
+        return registration;
+    }
+}
@@ -0,0 +1,207 @@
+package ru.practicum.shareit.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Optional;
+
+/**
+ * Распаковывает тела запросов в gzip/zstd и сжимает ответы кодированием, выбранным по Accept-Encoding.
+ * Ответ буферизуется только до порога {@code min-response-size}: после него решение о сжатии принято
+ * и тело пишется в клиента потоком. Уже сжатый ответ (например, проброшенный с сервера) отдаётся как есть,
+ * если клиент принимает его кодирование, иначе распаковывается и сжимается заново.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class CompressionFilter extends OncePerRequestFilter {
+    static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    CompressionProperties properties;
+    MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        HttpServletRequest requestToUse = request;
+        Optional<ContentCoding> requestCoding = ContentCoding.of(request.getHeader(HttpHeaders.CONTENT_ENCODING));
+        if (requestCoding.isPresent() && !isAsyncDispatch(request)) {
+            requestToUse = new DecodingRequestWrapper(request, requestCoding.get(),
+                    properties.getMaxDecodedSize().toBytes());
+        }
+
+        CompressingResponseWrapper responseToUse =
+                WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+        if (responseToUse == null) {
+            responseToUse = new CompressingResponseWrapper(response, properties,
+                    request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        }
+        try {
+            filterChain.doFilter(requestToUse, responseToUse);
+        } finally {
+            if (!isAsyncStarted(requestToUse)) {
+                long saved = responseToUse.finish();
+                if (saved > 0) {
+                    savedBytes(requestToUse, responseToUse.getCoding()).increment(saved);
+                }
+            }
+        }
+    }
+
+    private Counter savedBytes(HttpServletRequest request, ContentCoding coding) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return Counter.builder("http.server.compression.bytes.saved")
+                .baseUnit("bytes")
+                .tag("route", route != null ? route.toString() : UNKNOWN_ROUTE)
+                .tag("encoding", coding.token())
+                .register(meterRegistry);
+    }
+
+    private static class DecodingRequestWrapper extends HttpServletRequestWrapper {
+        private final ContentCoding coding;
+        private final long maxDecodedSize;
+        private ServletInputStream inputStream;
+
+        DecodingRequestWrapper(HttpServletRequest request, ContentCoding coding, long maxDecodedSize) {
+            super(request);
+            this.coding = coding;
+            this.maxDecodedSize = maxDecodedSize;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new DecodingInputStream(coding.decoding(super.getInputStream()), maxDecodedSize);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (isHidden(name)) {
+                return null;
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isHidden(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * Распаковка блокирующая: gzip/zstd-декодер сам читает из сокета столько, сколько нужно для следующего блока,
+     * поэтому неблокирующее чтение через {@link ReadListener} не поддерживается.
+     */
+    private static class DecodingInputStream extends ServletInputStream {
+        private final InputStream delegate;
+        private final long maxDecodedSize;
+        private long decoded;
+        private boolean finished;
+
+        DecodingInputStream(InputStream delegate, long maxDecodedSize) {
+            this.delegate = delegate;
+            this.maxDecodedSize = maxDecodedSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = delegate.read();
+            finished = result == -1;
+            if (!finished) {
+                count(1);
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int result = delegate.read(b, off, len);
+            finished = result == -1;
+            if (!finished) {
+                count(result);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new IllegalStateException("Неблокирующее чтение сжатого тела запроса не поддерживается");
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        private void count(int bytes) {
+            decoded += bytes;
+            if (decoded > maxDecodedSize) {
+                throw new DecodedBodyTooLargeException(
+                        "Распакованное тело запроса больше " + maxDecodedSize + " байт");
+            }
+        }
+    }
+}
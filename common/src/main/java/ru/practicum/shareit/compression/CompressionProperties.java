@@ -0,0 +1,29 @@
+package ru.practicum.shareit.compression;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.compression")
+public class CompressionProperties {
+    boolean enabled = true;
+
+    DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+    /**
+     * Предел распакованного тела запроса в gzip/zstd: защищает от «бомб», которые разворачиваются в гигабайты.
+     */
+    DataSize maxDecodedSize = DataSize.ofMegabytes(10);
+
+    List<ContentCoding> encodings = List.of(ContentCoding.ZSTD, ContentCoding.GZIP);
+
+    List<String> mimeTypes = List.of("application/json", "text/plain");
+}
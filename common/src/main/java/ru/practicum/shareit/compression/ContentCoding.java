@@ -0,0 +1,138 @@
+package ru.practicum.shareit.compression;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public enum ContentCoding {
+    ZSTD("zstd") {
+        @Override
+        public InputStream decoding(InputStream in) throws IOException {
+            return new ZstdInputStream(in);
+        }
+
+        @Override
+        OutputStream encoding(OutputStream out) throws IOException {
+            return new ZstdOutputStream(out, 3);
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        public InputStream decoding(InputStream in) throws IOException {
+            return new GZIPInputStream(in);
+        }
+
+        @Override
+        OutputStream encoding(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, true);
+        }
+    };
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public abstract InputStream decoding(InputStream in) throws IOException;
+
+    abstract OutputStream encoding(OutputStream out) throws IOException;
+
+    public byte[] encode(byte[] content) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (OutputStream out = encoding(result)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toByteArray();
+    }
+
+    public byte[] decode(byte[] content) {
+        try (InputStream in = decoding(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Optional<ContentCoding> of(@Nullable String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+        String normalized = token.trim().toLowerCase(Locale.ROOT);
+        for (ContentCoding coding : values()) {
+            if (coding.token.equals(normalized) || ("x-" + coding.token).equals(normalized)) {
+                return Optional.of(coding);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static boolean isAccepted(@Nullable String acceptEncoding, ContentCoding coding) {
+        return qualityOf(acceptEncoding, coding) > 0;
+    }
+
+    /**
+     * Выбирает из {@code preferred} кодирование с наибольшим q в заголовке Accept-Encoding,
+     * при равных q побеждает то, что стоит раньше в {@code preferred}.
+     */
+    public static Optional<ContentCoding> negotiate(@Nullable String acceptEncoding, List<ContentCoding> preferred) {
+        ContentCoding best = null;
+        double bestQuality = 0;
+        for (ContentCoding coding : preferred) {
+            double quality = qualityOf(acceptEncoding, coding);
+            if (quality > bestQuality) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static double qualityOf(@Nullable String acceptEncoding, ContentCoding coding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return 0;
+        }
+        double wildcard = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String name = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals(coding.token) || name.equals("x-" + coding.token)) {
+                return quality;
+            }
+            if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.compression;
+
+public class DecodedBodyTooLargeException extends RuntimeException {
+    public DecodedBodyTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String OTHER_SOURCE = "other";
+    static final Map<String, String> SOURCES = Map.of(
+            "org.apache.hc.", "httpclient5",
+            "org.postgresql.", "jdbc",
+            "org.h2.", "jdbc",
+            "com.zaxxer.hikari.", "jdbc");
+
+    MeterRegistry meterRegistry;
+    Duration threshold;
+    RecordingStream recordingStream = new RecordingStream();
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${shareit.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::report);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        recordingStream.close();
+    }
+
+    private void report(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames()
+                : List.of();
+        String source = resolveSource(frames);
+        Counter.builder("jvm.threads.virtual.pinned")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Виртуальный поток закреплён за несущим потоком на {} мс ({}): {}",
+                event.getDuration().toMillis(), source, describe(event.getStackTrace()));
+    }
+
+    private static String resolveSource(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String className = frame.getMethod().getType().getName();
+            for (Map.Entry<String, String> source : SOURCES.entrySet()) {
+                if (className.startsWith(source.getKey())) {
+                    return source.getValue();
+                }
+            }
+        }
+        return OTHER_SOURCE;
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "стек недоступен";
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(8)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .reduce((first, second) -> first + " <- " + second)
+                .orElse("стек пуст");
+    }
+}
@@ -0,0 +1,206 @@
+package ru.practicum.shareit.compression;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressionFilterTest {
+    static final String SMALL = "{\"id\":1}";
+    static final String LARGE = "{\"name\":\"Дрель\",\"description\":\"Аккумуляторная\"}".repeat(100);
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final CompressionProperties properties = new CompressionProperties();
+    final CompressionFilter filter = new CompressionFilter(properties, meterRegistry);
+
+    @Test
+    void leavesResponseBelowThresholdUncompressed() throws Exception {
+        MockHttpServletResponse response = filter(request("gzip"), json(SMALL));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentLength()).isEqualTo(SMALL.length());
+        assertThat(response.getContentAsString()).isEqualTo(SMALL);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(meterRegistry.find("http.server.compression.bytes.saved").counter()).isNull();
+    }
+
+    @Test
+    void compressesResponseAboveThresholdAndCountsSavedBytes() throws Exception {
+        MockHttpServletResponse response = filter(request("gzip;q=0.5, zstd"), json(LARGE));
+
+        byte[] body = response.getContentAsByteArray();
+        byte[] original = LARGE.getBytes(StandardCharsets.UTF_8);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("zstd");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"1\"");
+        assertThat(ContentCoding.ZSTD.decode(body)).isEqualTo(original);
+        assertThat(meterRegistry.counter("http.server.compression.bytes.saved",
+                "route", "/items", "encoding", "zstd").count()).isEqualTo(original.length - body.length);
+    }
+
+    @Test
+    void doesNotCompressWhenClientDoesNotAcceptAnyCoding() throws Exception {
+        MockHttpServletResponse response = filter(request(null), json(LARGE));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(LARGE);
+    }
+
+    @Test
+    void streamsResponsesOfIncompressibleTypes() throws Exception {
+        AtomicBoolean committedBeforeEnd = new AtomicBoolean();
+        MockHttpServletResponse response = filter(request("gzip"), (req, res) -> {
+            res.setContentType("application/x-ndjson");
+            res.getOutputStream().write(SMALL.getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+            committedBeforeEnd.set(res.isCommitted());
+        });
+
+        assertThat(committedBeforeEnd).isTrue();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(SMALL);
+    }
+
+    @Test
+    void startsStreamingOnceThresholdIsReached() throws Exception {
+        properties.setMinResponseSize(DataSize.ofBytes(16));
+        AtomicBoolean committedBelowThreshold = new AtomicBoolean();
+        AtomicBoolean committedAboveThreshold = new AtomicBoolean();
+        MockHttpServletResponse response = filter(request("gzip"), (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(SMALL.getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+            committedBelowThreshold.set(res.isCommitted());
+            res.getOutputStream().write(LARGE.getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+            committedAboveThreshold.set(res.isCommitted());
+        });
+
+        assertThat(committedBelowThreshold).isFalse();
+        assertThat(committedAboveThreshold).isTrue();
+        assertThat(ContentCoding.GZIP.decode(response.getContentAsByteArray()))
+                .isEqualTo((SMALL + LARGE).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void passesThroughBodyAlreadyEncodedInAcceptedCoding() throws Exception {
+        byte[] encoded = ContentCoding.GZIP.encode(LARGE.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = filter(request("gzip"), (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ((HttpServletResponse) res).setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            res.setContentLength(encoded.length);
+            res.getOutputStream().write(encoded);
+        });
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getContentLength()).isEqualTo(encoded.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(encoded);
+        assertThat(meterRegistry.find("http.server.compression.bytes.saved").counter()).isNull();
+    }
+
+    @Test
+    void reencodesBodyInCodingClientDoesNotAccept() throws Exception {
+        byte[] encoded = ContentCoding.ZSTD.encode(LARGE.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = filter(request("gzip"), (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ((HttpServletResponse) res).setHeader(HttpHeaders.CONTENT_ENCODING, "zstd");
+            res.getOutputStream().write(encoded);
+        });
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(ContentCoding.GZIP.decode(response.getContentAsByteArray()))
+                .isEqualTo(LARGE.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decodesRequestBodyAndHidesItsCoding() throws Exception {
+        MockHttpServletRequest request = request(null);
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(ContentCoding.GZIP.encode(LARGE.getBytes(StandardCharsets.UTF_8)));
+        AtomicReference<String> body = new AtomicReference<>();
+        AtomicReference<String> coding = new AtomicReference<>();
+
+        filter(request, (req, res) -> {
+            body.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            coding.set(((HttpServletRequest) req).getHeader(HttpHeaders.CONTENT_ENCODING));
+        });
+
+        assertThat(body).hasValue(LARGE);
+        assertThat(coding).hasNullValue();
+    }
+
+    @Test
+    void rejectsRequestBodyThatDecodesBeyondLimit() {
+        properties.setMaxDecodedSize(DataSize.ofKilobytes(64));
+        MockHttpServletRequest request = request(null);
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(ContentCoding.GZIP.encode(new byte[1024 * 1024]));
+
+        assertThatThrownBy(() -> filter(request, (req, res) -> req.getInputStream().readAllBytes()))
+                .isInstanceOf(DecodedBodyTooLargeException.class);
+    }
+
+    @Test
+    void rejectsNonBlockingReadOfEncodedBody() {
+        MockHttpServletRequest request = request(null);
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "zstd");
+        request.setContent(ContentCoding.ZSTD.encode(SMALL.getBytes(StandardCharsets.UTF_8)));
+
+        assertThatThrownBy(() -> filter(request,
+                (req, res) -> req.getInputStream().setReadListener(new NoopReadListener())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    private static FilterChain json(String body) {
+        return (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items");
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"1\"");
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            res.getWriter().write(body);
+        };
+    }
+
+    private static class NoopReadListener implements ReadListener {
+        @Override
+        public void onDataAvailable() {
+        }
+
+        @Override
+        public void onAllDataRead() {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentCodingTest {
+    static final List<ContentCoding> PREFERRED = List.of(ContentCoding.ZSTD, ContentCoding.GZIP);
+
+    @Test
+    void prefersServerOrderWhenQualitiesAreEqual() {
+        assertThat(ContentCoding.negotiate("gzip, zstd", PREFERRED)).contains(ContentCoding.ZSTD);
+        assertThat(ContentCoding.negotiate("*", PREFERRED)).contains(ContentCoding.ZSTD);
+    }
+
+    @Test
+    void prefersHigherQuality() {
+        assertThat(ContentCoding.negotiate("zstd;q=0.5, gzip", PREFERRED)).contains(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("x-gzip", PREFERRED)).contains(ContentCoding.GZIP);
+    }
+
+    @Test
+    void skipsRejectedAndUnknownCodings() {
+        assertThat(ContentCoding.negotiate("zstd;q=0, *;q=0", PREFERRED)).isEmpty();
+        assertThat(ContentCoding.negotiate("br, deflate", PREFERRED)).isEmpty();
+        assertThat(ContentCoding.negotiate(null, PREFERRED)).isEmpty();
+        assertThat(ContentCoding.negotiate("gzip", List.of(ContentCoding.ZSTD))).isEmpty();
+    }
+
+    @Test
+    void checksWhetherCodingIsAccepted() {
+        assertThat(ContentCoding.isAccepted("gzip", ContentCoding.GZIP)).isTrue();
+        assertThat(ContentCoding.isAccepted("gzip", ContentCoding.ZSTD)).isFalse();
+        assertThat(ContentCoding.isAccepted("*, gzip;q=0", ContentCoding.GZIP)).isFalse();
+    }
+
+    @Test
+    void decodesWhatItEncodes() {
+        byte[] content = "{\"name\":\"Дрель\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        for (ContentCoding coding : ContentCoding.values()) {
+            byte[] encoded = coding.encode(content);
+            assertThat(encoded.length).isLessThan(content.length);
+            assertThat(coding.decode(encoded)).isEqualTo(content);
+        }
+    }
+}
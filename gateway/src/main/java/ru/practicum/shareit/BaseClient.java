@@ -1,7 +1,10 @@
 package ru.practicum.shareit;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -9,108 +12,185 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.AsyncServerExchange;
+import ru.practicum.shareit.client.ClientResilience;
+import ru.practicum.shareit.client.ClientRetries;
+import ru.practicum.shareit.client.ClientSupport;
+import ru.practicum.shareit.client.CompletableFutures;
+import ru.practicum.shareit.client.Http2ServerExchange;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final Set<String> PASSTHROUGH_HEADERS = Set.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING,
+            "X-Next-Cursor");
 
-    public BaseClient(RestTemplate rest) {
+    protected final RestTemplate rest;
+    private final String name;
+    private final boolean passthrough;
+    private final String acceptEncoding;
+    @Nullable
+    private final AsyncServerExchange asyncExchange;
+    @Nullable
+    private final Http2ServerExchange http2Exchange;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ClientResilience clientResilience;
+    private final ClientRetries clientRetries;
+
+    public BaseClient(String name, RestTemplate rest, ClientSupport support) {
         this.rest = rest;
-    }
-
-    protected ResponseEntity<Object> get(String path) {
+        this.name = name;
+        this.passthrough = support.getProperties().isPassthrough();
+        this.acceptEncoding = support.getProperties().getAcceptEncoding();
+        this.asyncExchange = support.getAsyncExchange();
+        this.http2Exchange = support.getHttp2Exchange();
+        this.responseCache = support.getResponseCache();
+        this.requestCoalescer = support.getRequestCoalescer();
+        this.clientResilience = support.getClientResilience();
+        this.clientRetries = support.getClientRetries();
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        HttpHeaders headers = defaultHeaders(userId);
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+        if (method == HttpMethod.GET) {
+            return requestCoalescer.execute(uri, userId, () -> sendCacheable(uri, userId, headers))
+                    .thenApply(BaseClient::prepareGatewayResponse);
+        }
+        return send(method, uri, headers, body)
+                .whenComplete((response, e) -> responseCache.invalidateAfterWrite(uri, userId))
+                .thenApply(BaseClient::prepareGatewayResponse);
+    }
+
+    private CompletableFuture<ResponseEntity<?>> sendCacheable(URI uri, Long userId, HttpHeaders headers) {
+        if (!responseCache.isCacheable(uri)) {
+            return send(HttpMethod.GET, uri, headers, null);
+        }
+        ResponseCache.Key key = responseCache.key(uri, userId);
+        ResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null && responseCache.isFresh(cached)) {
+            return CompletableFuture.completedFuture(responseCache.fresh(cached));
+        }
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+        long generation = responseCache.generation();
+        return send(HttpMethod.GET, uri, headers, null)
+                .thenApply(response -> responseCache.update(key, cached, response, generation));
+    }
+
+    private <T> CompletableFuture<ResponseEntity<?>> send(HttpMethod method, URI uri, HttpHeaders headers, @Nullable T body) {
+        return clientRetries.execute(name, method, uri, () -> clientResilience.execute(name, () -> {
+            if (http2Exchange != null && http2Exchange.isAvailable()) {
+                return widen(http2Exchange.exchange(uri, method, headers, body));
+            }
+            if (asyncExchange != null) {
+                return widen(asyncExchange.exchange(uri, method, headers, body));
             }
+            return CompletableFuture.completedFuture(exchange(method, uri, headers, body));
+        }));
+    }
+
+    private static CompletableFuture<ResponseEntity<?>> widen(CompletableFuture<ResponseEntity<byte[]>> response) {
+        return CompletableFutures.cancelling(response, response.thenApply(value -> value));
+    }
+
+    private <T> ResponseEntity<?> exchange(HttpMethod method, URI uri, HttpHeaders headers, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+        Class<?> responseType = passthrough ? byte[].class : Object.class;
+
+        try {
+            return rest.exchange(uri, method, requestEntity, responseType);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (passthrough && StringUtils.hasText(acceptEncoding)) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<?> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(passthroughHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -118,4 +198,15 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    private static HttpHeaders passthroughHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : PASSTHROUGH_HEADERS) {
+            List<String> values = serverHeaders.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+        return headers;
+    }
 }
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/batch")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class BatchController {
+    BatchDispatcher batchDispatcher;
+
+    @PostMapping
+    public CompletableFuture<List<SubResponseDto>> executeBatch(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
+                                                                @Valid @RequestBody BatchRequestDto batchRequestDto) {
+        return batchDispatcher.dispatch(userId, batchRequestDto.getRequests());
+    }
+}
@@ -0,0 +1,316 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.compression.ContentCoding;
+import ru.practicum.shareit.exception.ErrorHandler.ExceptionResponse;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Выполняет подзапросы пакета теми же обработчиками, что и обычные запросы: маршруты берутся из
+ * {@link RequestMappingHandlerMapping}, аргументы проверяются ограничениями параметров контроллера.
+ * В пакет попадают только обработчики, возвращающие {@code CompletableFuture<ResponseEntity<Object>>}.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BatchDispatcher {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    static final ResolvableType ROUTE_TYPE = ResolvableType.forClassWithGenerics(CompletableFuture.class,
+            ResolvableType.forClassWithGenerics(ResponseEntity.class, Object.class));
+    static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    List<Route> routes;
+    ConversionService conversionService;
+    ObjectMapper objectMapper;
+    Validator validator;
+    RateLimitProperties rateLimitProperties;
+    RateLimiter rateLimiter;
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BatchDispatcher(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                           @Qualifier("mvcConversionService") ConversionService conversionService,
+                           ObjectMapper objectMapper,
+                           Validator validator,
+                           RateLimitProperties rateLimitProperties,
+                           RateLimiter rateLimiter) {
+        this.routes = routes(handlerMapping);
+        this.conversionService = conversionService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.rateLimitProperties = rateLimitProperties;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public CompletableFuture<List<SubResponseDto>> dispatch(@Nullable Long userId, List<SubRequestDto> requests) {
+        List<CompletableFuture<SubResponseDto>> responses = requests.stream()
+                .map(request -> CompletableFuture.supplyAsync(() -> execute(userId, request), executor)
+                        .thenCompose(Function.identity())
+                        .handle((response, e) -> e == null
+                                ? toSubResponse(request, response)
+                                : toSubResponse(request, e)))
+                .toList();
+        return CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> responses.stream().map(CompletableFuture::join).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static List<Route> routes(RequestMappingHandlerMapping handlerMapping) {
+        List<Route> routes = new ArrayList<>();
+        handlerMapping.getHandlerMethods().forEach((info, handlerMethod) -> {
+            if (info.getPathPatternsCondition() == null
+                    || !ROUTE_TYPE.isAssignableFrom(ResolvableType.forMethodReturnType(handlerMethod.getMethod()))) {
+                return;
+            }
+            for (RequestMethod method : info.getMethodsCondition().getMethods()) {
+                for (PathPattern pattern : info.getPathPatternsCondition().getPatterns()) {
+                    routes.add(new Route(HttpMethod.valueOf(method.name()), pattern, handlerMethod));
+                }
+            }
+        });
+        routes.sort(Comparator.comparing(Route::pattern, PathPattern.SPECIFICITY_COMPARATOR));
+        return List.copyOf(routes);
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> execute(@Nullable Long userId, SubRequestDto request) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(request.getPath()).build();
+        PathContainer path = PathContainer.parsePath(uri.getPath() == null ? "" : uri.getPath());
+        for (Route route : routes) {
+            if (!route.method().equals(request.getMethod())) {
+                continue;
+            }
+            PathPattern.PathMatchInfo match = route.pattern().matchAndExtract(path);
+            if (match == null) {
+                continue;
+            }
+            if (userId != null && rateLimitProperties.isEnabled()) {
+                Duration wait = rateLimiter.tryAcquire(userId, uri.getPath());
+                if (!wait.isZero()) {
+                    throw new TooManyRequestsException("Превышен лимит запросов для пользователя " + userId, wait);
+                }
+            }
+            HandlerMethod handlerMethod = route.handlerMethod().createWithResolvedBean();
+            Call call = new Call(userId, match.getUriVariables(), uri.getQueryParams(), request);
+            Object[] args = Arrays.stream(handlerMethod.getMethodParameters())
+                    .map(parameter -> resolveArgument(parameter, call))
+                    .toArray();
+            Set<ConstraintViolation<Object>> violations = validator.forExecutables()
+                    .validateParameters(handlerMethod.getBean(), handlerMethod.getMethod(), args);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            return invoke(handlerMethod, args);
+        }
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ExceptionResponse("Запрашиваемый ресурс не найден",
+                        "Маршрут " + request.getMethod() + " " + request.getPath() + " не найден")));
+    }
+
+    @Nullable
+    private Object resolveArgument(MethodParameter parameter, Call call) {
+        parameter.initParameterNameDiscovery(PARAMETER_NAME_DISCOVERER);
+        RequestBody requestBody = parameter.getParameterAnnotation(RequestBody.class);
+        if (requestBody != null) {
+            return readBody(call.request(), parameter.getParameterType());
+        }
+        PathVariable pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+        if (pathVariable != null) {
+            String name = name(pathVariable.name(), pathVariable.value(), parameter);
+            return convert(name, call.pathVariables().get(name), parameter);
+        }
+        RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+        if (requestParam != null) {
+            String name = name(requestParam.name(), requestParam.value(), parameter);
+            String value = call.queryParam(name);
+            return convert(name, value != null ? value : defaultValue(requestParam.defaultValue(),
+                    requestParam.required(), "Не указан параметр " + name), parameter);
+        }
+        RequestHeader requestHeader = parameter.getParameterAnnotation(RequestHeader.class);
+        if (requestHeader != null) {
+            String name = name(requestHeader.name(), requestHeader.value(), parameter);
+            String value = USER_ID_HEADER.equalsIgnoreCase(name) && call.userId() != null
+                    ? call.userId().toString()
+                    : null;
+            return convert(name, value != null ? value : defaultValue(requestHeader.defaultValue(),
+                    requestHeader.required(), "Не указан заголовок " + name), parameter);
+        }
+        throw new IllegalStateException("Параметр " + parameter + " не поддерживается в пакетном запросе");
+    }
+
+    @Nullable
+    private Object convert(String name, @Nullable String value, MethodParameter parameter) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return conversionService.convert(value, TypeDescriptor.valueOf(String.class), new TypeDescriptor(parameter));
+        } catch (ConversionException e) {
+            throw new IllegalArgumentException("Неверное значение " + name + ": " + value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<ResponseEntity<Object>> invoke(HandlerMethod handlerMethod, Object[] args) {
+        try {
+            return (CompletableFuture<ResponseEntity<Object>>) handlerMethod.getMethod()
+                    .invoke(handlerMethod.getBean(), args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String name(String name, String value, MethodParameter parameter) {
+        if (StringUtils.hasText(name)) {
+            return name;
+        }
+        return StringUtils.hasText(value) ? value : parameter.getParameterName();
+    }
+
+    @Nullable
+    private static String defaultValue(String defaultValue, boolean required, String missingMessage) {
+        if (!ValueConstants.DEFAULT_NONE.equals(defaultValue)) {
+            return defaultValue;
+        }
+        if (required) {
+            throw new IllegalArgumentException(missingMessage);
+        }
+        return null;
+    }
+
+    private Object readBody(SubRequestDto request, Class<?> bodyType) {
+        if (request.getBody() == null || request.getBody().isNull()) {
+            throw new IllegalArgumentException("Тело запроса не может быть пустым");
+        }
+        try {
+            return objectMapper.treeToValue(request.getBody(), bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Некорректное тело запроса: " + e.getOriginalMessage());
+        }
+    }
+
+    private SubResponseDto toSubResponse(SubRequestDto request, ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        if (body instanceof byte[] bytes) {
+            Optional<ContentCoding> coding = ContentCoding.of(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            if (coding.isPresent()) {
+                bytes = coding.get().decode(bytes);
+            }
+            body = bytes.length == 0 ? null : new RawValue(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return new SubResponseDto(request.getId(), response.getStatusCode().value(), body);
+    }
+
+    private SubResponseDto toSubResponse(SubRequestDto request, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        HttpStatus status;
+        String error;
+        String description = cause.getMessage();
+        if (cause instanceof ConstraintViolationException violation) {
+            status = HttpStatus.BAD_REQUEST;
+            error = "Ошибка валидации";
+            description = violation.getConstraintViolations().stream()
+                    .map(BatchDispatcher::describe)
+                    .collect(Collectors.joining("; "));
+        } else if (cause instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+            error = "Ошибка валидации";
+        } else if (cause instanceof TooManyRequestsException) {
+            status = HttpStatus.TOO_MANY_REQUESTS;
+            error = "Слишком много запросов";
+        } else if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            error = "Сервис временно недоступен";
+        } else {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            error = "Внутренняя ошибка сервера";
+        }
+        return new SubResponseDto(request.getId(), status.value(), new ExceptionResponse(error, description));
+    }
+
+    /**
+     * Путь нарушения у параметров метода начинается с имени метода контроллера, клиенту он не нужен.
+     */
+    private static String describe(ConstraintViolation<?> violation) {
+        String path = violation.getPropertyPath().toString();
+        return path.substring(path.indexOf('.') + 1) + ": " + violation.getMessage();
+    }
+
+    private record Route(HttpMethod method, PathPattern pattern, HandlerMethod handlerMethod) {
+    }
+
+    private record Call(@Nullable Long userId, Map<String, String> pathVariables,
+                        MultiValueMap<String, String> queryParams, SubRequestDto request) {
+        @Nullable
+        String queryParam(String name) {
+            String value = queryParams.getFirst(name);
+            return value != null ? UriUtils.decode(value, StandardCharsets.UTF_8) : null;
+        }
+    }
+}
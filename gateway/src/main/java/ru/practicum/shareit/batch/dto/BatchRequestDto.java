@@ -0,0 +1,24 @@
+package ru.practicum.shareit.batch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchRequestDto {
+    @NotEmpty(message = "Список запросов не может быть пустым.")
+    @Size(max = 20, message = "В пакете может быть не больше 20 запросов.")
+    List<@Valid SubRequestDto> requests;
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpMethod;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SubRequestDto {
+    String id;
+
+    @NotNull(message = "Метод запроса не может быть пустым.")
+    HttpMethod method;
+
+    @NotBlank(message = "Путь запроса не может быть пустым.")
+    String path;
+
+    JsonNode body;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SubResponseDto {
+    String id;
+
+    int status;
+
+    Object body;
+}
@@ -1,50 +1,71 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.client.ClientSupport;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final String CLIENT_NAME = "booking";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(RestTemplateBuilder builder, ClientSupport support) {
         super(
+                CLIENT_NAME,
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(support.getServerUrl() + API_PREFIX))
+                        .requestFactory(support::getRequestFactory)
+                        .build(),
+                support
         );
     }
 
-    public ResponseEntity<Object> getAllBookingsForBooker(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingsForBooker(Long userId, BookingState state, Integer from, Integer size,
+                                                                             @Nullable String cursor) {
+        return get(listPath("", cursor), userId, listParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> createBooking(Long userId, NewBookingDto newBookingDto) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(Long userId, NewBookingDto newBookingDto) {
         return post("", userId, newBookingDto);
     }
 
-    public ResponseEntity<Object> getAllBookingsForOwner(Long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state);
-        return get("/owner", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> createBookings(Long userId, List<NewBookingDto> newBookingDtos) {
+        return post("/bulk", userId, newBookingDtos);
     }
 
-    public ResponseEntity<Object> getBookingById(Long userId, Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingsForOwner(Long userId, BookingState state, Integer from, Integer size,
+                                                                            @Nullable String cursor) {
+        return get(listPath("/owner", cursor), userId, listParameters(state, from, size, cursor));
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> updateBookingStatus(Long userId, Long bookingId, Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> updateBookingStatus(Long userId, Long bookingId, Boolean approved) {
         return patch(("/" + bookingId + "?approved=" + approved), userId, null);
     }
-}
\ No newline at end of file
+
+    private static String listPath(String path, @Nullable String cursor) {
+        return path + (cursor != null
+                ? "?state={state}&size={size}&cursor={cursor}"
+                : "?state={state}&from={from}&size={size}");
+    }
+
+    private static Map<String, Object> listParameters(BookingState state, Integer from, Integer size, @Nullable String cursor) {
+        return cursor != null
+                ? Map.of("state", state, "size", size, "cursor", cursor)
+                : Map.of("state", state, "from", from, "size", size);
+    }
+}
@@ -1,60 +1,90 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.bulk.BulkImporter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
 public class BookingController {
+    static final int MAX_PAGE_SIZE = 100;
+
     BookingClient bookingClient;
+    BulkImporter bulkImporter;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @Valid @RequestBody NewBookingDto newBookingDto) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @Valid @RequestBody NewBookingDto newBookingDto) {
         return bookingClient.createBooking(userId, newBookingDto);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void createBookings(@RequestHeader("X-Sharer-User-Id") Long userId, InputStream body,
+                               HttpServletResponse response) throws IOException {
+        bulkImporter.importLines(body, response, NewBookingDto.class,
+                bookings -> bookingClient.createBookings(userId, bookings));
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsForBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                          @RequestParam(name = "state", defaultValue = "all")
-                                                          String stateParam,
-                                                          @PositiveOrZero
-                                                          @RequestParam(name = "from", defaultValue = "0")
-                                                          Integer from,
-                                                          @Positive
-                                                          @RequestParam(name = "size", defaultValue = "10")
-                                                          Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingsForBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                             @RequestParam(name = "state", defaultValue = "all")
+                                                                             String stateParam,
+                                                                             @PositiveOrZero
+                                                                             @RequestParam(name = "from", defaultValue = "0")
+                                                                             Integer from,
+                                                                             @Positive
+                                                                             @Max(MAX_PAGE_SIZE)
+                                                                             @RequestParam(name = "size", defaultValue = "10")
+                                                                             Integer size,
+                                                                             @RequestParam(name = "cursor", required = false)
+                                                                             String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Неверный state: " + stateParam));
-        return bookingClient.getAllBookingsForBooker(userId, state, from, size);
+        return bookingClient.getAllBookingsForBooker(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingsForOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                         @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingClient.getAllBookingsForOwner(userId, state);
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingsForOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                            @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                            @PositiveOrZero
+                                                                            @RequestParam(name = "from", defaultValue = "0")
+                                                                            Integer from,
+                                                                            @Positive
+                                                                            @Max(MAX_PAGE_SIZE)
+                                                                            @RequestParam(name = "size", defaultValue = "10")
+                                                                            Integer size,
+                                                                            @RequestParam(name = "cursor", required = false)
+                                                                            String cursor) {
+        return bookingClient.getAllBookingsForOwner(userId, state, from, size, cursor);
     }
 
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @PathVariable("bookingId") Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                    @PathVariable("bookingId") Long bookingId) {
         return bookingClient.getBookingById(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateStatusBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                      @PathVariable("bookingId") Long bookingId,
-                                                      @RequestParam(name = "approved", required = true) Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> updateStatusBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                         @PathVariable("bookingId") Long bookingId,
+                                                                         @RequestParam(name = "approved", required = true) Boolean approved) {
         return bookingClient.updateBookingStatus(userId, bookingId, approved);
     }
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.bulk;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BulkProperties.class)
+public class BulkConfig {
+}
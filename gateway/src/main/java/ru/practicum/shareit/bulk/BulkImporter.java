@@ -0,0 +1,184 @@
+package ru.practicum.shareit.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.bulk.dto.BulkResultDto;
+import ru.practicum.shareit.compression.ContentCoding;
+import ru.practicum.shareit.exception.ErrorHandler.ExceptionResponse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Читает поток NDJSON построчно, проверяет каждую запись и отправляет на сервер пакетами по chunkSize строк.
+ * В памяти держится только текущий пакет, результаты пишутся в ответ по одной строке на запись в порядке ввода.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BulkImporter {
+    static final byte[] LINE_SEPARATOR = {'\n'};
+
+    ObjectMapper objectMapper;
+    Validator validator;
+    BulkProperties properties;
+
+    public <T> void importLines(InputStream input, HttpServletResponse response, Class<T> type,
+                                Function<List<T>, CompletableFuture<ResponseEntity<Object>>> sender) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream output = response.getOutputStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<Line<T>> chunk = new ArrayList<>(properties.getChunkSize());
+        long lineNumber = 0;
+        long imported = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            lineNumber++;
+            if (text.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, text, type));
+            if (chunk.size() == properties.getChunkSize()) {
+                imported += flush(chunk, sender, output);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += flush(chunk, sender, output);
+        }
+        log.info("Пакетный импорт {}: создано {} из {} строк", type.getSimpleName(), imported, lineNumber);
+    }
+
+    private <T> Line<T> parse(long lineNumber, String text, Class<T> type) {
+        T record;
+        try {
+            record = objectMapper.readValue(text, type);
+        } catch (JsonProcessingException e) {
+            return Line.failed(lineNumber, "Некорректная запись: " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            return Line.failed(lineNumber, violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining("; ")));
+        }
+        return new Line<>(lineNumber, record, null);
+    }
+
+    private <T> long flush(List<Line<T>> chunk, Function<List<T>, CompletableFuture<ResponseEntity<Object>>> sender,
+                           OutputStream output) throws IOException {
+        List<T> records = chunk.stream()
+                .filter(line -> line.result() == null)
+                .map(Line::record)
+                .toList();
+        List<BulkResultDto> sent = records.isEmpty() ? List.of() : send(chunk, records, sender);
+        int next = 0;
+        long imported = 0;
+        for (Line<T> line : chunk) {
+            BulkResultDto result = line.result() != null ? line.result() : sent.get(next++);
+            if (result.getStatus() == HttpStatus.CREATED.value()) {
+                imported++;
+            }
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write(LINE_SEPARATOR);
+        }
+        output.flush();
+        chunk.clear();
+        return imported;
+    }
+
+    /**
+     * Сервер отвечает массивом результатов в порядке записей пакета. Если пакет отклонён целиком
+     * (нет пользователя, сервер недоступен), его статус и тело получает каждая запись.
+     * POST не повторяется, поэтому пакет не может записаться дважды.
+     */
+    private <T> List<BulkResultDto> send(List<Line<T>> chunk, List<T> records,
+                                         Function<List<T>, CompletableFuture<ResponseEntity<Object>>> sender) {
+        List<Long> lineNumbers = chunk.stream()
+                .filter(line -> line.result() == null)
+                .map(Line::number)
+                .toList();
+        int status;
+        JsonNode body;
+        try {
+            ResponseEntity<Object> response = sender.apply(records).join();
+            status = response.getStatusCode().value();
+            body = readBody(response);
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Пакет из {} записей не отправлен: {}", records.size(), cause.getMessage());
+            HttpStatus failure = cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException
+                    ? HttpStatus.SERVICE_UNAVAILABLE
+                    : HttpStatus.INTERNAL_SERVER_ERROR;
+            status = failure.value();
+            body = objectMapper.valueToTree(new ExceptionResponse(failure == HttpStatus.SERVICE_UNAVAILABLE
+                    ? "Сервис временно недоступен"
+                    : "Внутренняя ошибка сервера", cause.getMessage()));
+        }
+
+        List<BulkResultDto> results = new ArrayList<>(records.size());
+        boolean perRecord = HttpStatus.valueOf(status).is2xxSuccessful() && body.isArray() && body.size() == records.size();
+        for (int i = 0; i < lineNumbers.size(); i++) {
+            results.add(perRecord
+                    ? new BulkResultDto(lineNumbers.get(i), body.get(i).path("status").asInt(), body.get(i).get("body"))
+                    : new BulkResultDto(lineNumbers.get(i), status, body));
+        }
+        return results;
+    }
+
+    private JsonNode readBody(ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        if (!(body instanceof byte[] bytes)) {
+            return body == null ? NullNode.getInstance() : objectMapper.valueToTree(body);
+        }
+        Optional<ContentCoding> coding = ContentCoding.of(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        if (coding.isPresent()) {
+            bytes = coding.get().decode(bytes);
+        }
+        if (bytes.length == 0) {
+            return NullNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Некорректный ответ сервера: " + e.getMessage(), e);
+        }
+    }
+
+    private record Line<T>(long number, @Nullable T record, @Nullable BulkResultDto result) {
+        static <T> Line<T> failed(long number, String message) {
+            return new Line<>(number, null, new BulkResultDto(number, HttpStatus.BAD_REQUEST.value(),
+                    new ExceptionResponse("Ошибка валидации", message)));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.bulk;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.bulk")
+public class BulkProperties {
+    /**
+     * Сколько строк потока уходит на сервер одним пакетом, то есть одной транзакцией.
+     * Сервер принимает не больше 1000 записей за раз.
+     */
+    int chunkSize = 500;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.bulk.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkResultDto {
+    long line;
+
+    int status;
+
+    Object body;
+}
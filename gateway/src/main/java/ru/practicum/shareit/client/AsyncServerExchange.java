@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+@Component
+@ConditionalOnProperty(prefix = "shareit-server", name = "client-mode", havingValue = "async")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class AsyncServerExchange {
+    CloseableHttpAsyncClient shareItServerAsyncClient;
+    ObjectMapper objectMapper;
+
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(URI uri, HttpMethod method, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        SimpleRequestBuilder requestBuilder = SimpleRequestBuilder.create(method.name()).setUri(uri);
+        headers.forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                values.forEach(value -> requestBuilder.addHeader(name, value));
+            }
+        });
+        if (body != null) {
+            try {
+                requestBuilder.setBody(objectMapper.writeValueAsBytes(body), ContentType.APPLICATION_JSON);
+            } catch (JsonProcessingException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        SimpleHttpRequest request = requestBuilder.build();
+
+        CompletableFuture<ResponseEntity<byte[]>> result = new CompletableFuture<>();
+        Future<SimpleHttpResponse> execution = shareItServerAsyncClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                result.complete(toResponseEntity(response));
+            }
+
+            @Override
+            public void failed(Exception e) {
+                result.completeExceptionally(new ResourceAccessException(
+                        "Ошибка запроса " + method + " " + uri + ": " + e.getMessage(),
+                        e instanceof IOException ioException ? ioException : new IOException(e)));
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static ResponseEntity<byte[]> toResponseEntity(SimpleHttpResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Header header : response.getHeaders()) {
+            headers.add(header.getName(), header.getValue());
+        }
+        return ResponseEntity.status(response.getCode())
+                .headers(headers)
+                .body(response.getBodyBytes());
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class ClientResilience {
+    CircuitBreakerRegistry circuitBreakerRegistry;
+    BulkheadRegistry bulkheadRegistry;
+    MeterRegistry meterRegistry;
+
+    public CompletableFuture<ResponseEntity<?>> execute(String clientName,
+                                                        Supplier<CompletableFuture<ResponseEntity<?>>> call) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(clientName);
+        if (!bulkhead.tryAcquirePermission()) {
+            reject(clientName, "bulkhead");
+            return CompletableFuture.failedFuture(BulkheadFullException.createBulkheadFullException(bulkhead));
+        }
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(clientName);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            reject(clientName, "circuit-breaker");
+            return CompletableFuture.failedFuture(
+                    CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+        }
+
+        long start = circuitBreaker.getCurrentTimestamp();
+        CompletableFuture<ResponseEntity<?>> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        // Учёт висит на отдельной стадии, которую никто не отменяет: отмена стадии whenComplete пропускает её действие.
+        CompletableFuture<ResponseEntity<?>> recorded = result.whenComplete((response, e) -> {
+            bulkhead.onComplete();
+            long duration = circuitBreaker.getCurrentTimestamp() - start;
+            if (e instanceof CancellationException) {
+                circuitBreaker.releasePermission();
+            } else if (e != null) {
+                circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), e);
+            } else if (response.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+                        new HttpServerErrorException(response.getStatusCode()));
+            } else {
+                circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+            }
+        });
+        return CompletableFutures.cancelling(result, recorded.thenApply(response -> response));
+    }
+
+    private void reject(String clientName, String reason) {
+        meterRegistry.counter("gateway.resilience.rejections", "client", clientName, "reason", reason)
+                .increment();
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ClientRetries {
+    static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(HttpMethod.GET, HttpMethod.PUT, HttpMethod.DELETE);
+    static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    ShareItServerProperties.Retry retry;
+    ShareItServerProperties.Hedging hedging;
+    MeterRegistry meterRegistry;
+    Map<String, RouteState> routes = new ConcurrentHashMap<>();
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ClientRetries(ShareItServerProperties properties, MeterRegistry meterRegistry) {
+        this.retry = properties.getRetry();
+        this.hedging = properties.getHedging();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CompletableFuture<ResponseEntity<?>> execute(String clientName, HttpMethod method, URI uri,
+                                                        Supplier<CompletableFuture<ResponseEntity<?>>> call) {
+        boolean retryable = retry.isEnabled() && IDEMPOTENT_METHODS.contains(method);
+        boolean hedged = hedging.isEnabled() && method == HttpMethod.GET;
+        if (!retryable && !hedged) {
+            return call.get();
+        }
+        RouteState route = routes.computeIfAbsent(method + " " + ID_SEGMENT.matcher(uri.getPath()).replaceAll("/{id}"),
+                key -> new RouteState(clientName, key));
+        route.retryBudget.deposit();
+        route.hedgeBudget.deposit();
+
+        CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+        long start = System.nanoTime();
+        result.whenComplete((response, e) -> route.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        if (!hedged) {
+            attempt(route, call, retryable, 1, result, "primary");
+            return result;
+        }
+
+        executor.execute(() -> attempt(route, call, retryable, 1, result, "primary"));
+        CompletableFuture.delayedExecutor(route.hedgeDelay().toNanos(), TimeUnit.NANOSECONDS, executor).execute(() -> {
+            if (!result.isDone() && route.hedgeBudget.tryWithdraw()) {
+                count("gateway.hedge.requests", route, "outcome", "sent");
+                attempt(route, call, retryable, 1, result, "hedge");
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void attempt(RouteState route, Supplier<CompletableFuture<ResponseEntity<?>>> call, boolean retryable,
+                         int attempt, CompletableFuture<ResponseEntity<?>> result, String role) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<ResponseEntity<?>> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        cancelWhenDecided(route, result, response, role);
+        response.whenComplete((value, e) -> {
+            if (e == null) {
+                complete(route, result, value, attempt, role);
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            if (!retryable || !isConnectionFailure(e) || attempt >= retry.getMaxAttempts()) {
+                if (attempt > 1) {
+                    count("gateway.retry.requests", route, "outcome", "exhausted");
+                }
+                result.completeExceptionally(e);
+                return;
+            }
+            if (!route.retryBudget.tryWithdraw()) {
+                count("gateway.retry.requests", route, "outcome", "budget-exhausted");
+                result.completeExceptionally(e);
+                return;
+            }
+            CompletableFuture.delayedExecutor(backoff(attempt).toNanos(), TimeUnit.NANOSECONDS, executor)
+                    .execute(() -> attempt(route, call, true, attempt + 1, result, role));
+        });
+    }
+
+    /**
+     * Проигравшая попытка отменяется вместе с HTTP-запросом: иначе она до конца держит соединение из пула
+     * и запрос на сервере, удваивая нагрузку как раз тогда, когда сервер отвечает медленно.
+     */
+    private void cancelWhenDecided(RouteState route, CompletableFuture<ResponseEntity<?>> result,
+                                   CompletableFuture<ResponseEntity<?>> response, String role) {
+        result.whenComplete((value, e) -> {
+            if (response.cancel(true) && hedging.isEnabled()) {
+                count("gateway.hedge.requests", route, "outcome", role + "-cancelled");
+            }
+        });
+    }
+
+    private void complete(RouteState route, CompletableFuture<ResponseEntity<?>> result, ResponseEntity<?> response,
+                          int attempt, String role) {
+        if (!result.complete(response)) {
+            return;
+        }
+        if (attempt > 1) {
+            count("gateway.retry.requests", route, "outcome", "recovered");
+        }
+        if (hedging.isEnabled() && "hedge".equals(role)) {
+            count("gateway.hedge.requests", route, "outcome", "hedge-won");
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        long ceiling = Math.min(retry.getMaxBackoff().toNanos(),
+                retry.getInitialBackoff().toNanos() << Math.min(attempt - 1, 20));
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private void count(String name, RouteState route, String tag, String value) {
+        meterRegistry.counter(name, "client", route.clientName, "route", route.route, tag, value).increment();
+    }
+
+    private static boolean isConnectionFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof ResourceAccessException;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private class RouteState {
+        String clientName;
+        String route;
+        RetryBudget retryBudget;
+        RetryBudget hedgeBudget;
+        Timer latency;
+
+        RouteState(String clientName, String route) {
+            this.clientName = clientName;
+            this.route = route;
+            this.retryBudget = new RetryBudget(retry.getBudgetRatio(), retry.getBudgetCapacity());
+            this.hedgeBudget = new RetryBudget(hedging.getBudgetRatio(), hedging.getBudgetCapacity());
+            this.latency = Timer.builder("gateway.upstream.latency")
+                    .tag("client", clientName)
+                    .tag("route", route)
+                    .publishPercentiles(hedging.getPercentile())
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+        }
+
+        Duration hedgeDelay() {
+            ValueAtPercentile[] percentiles = latency.takeSnapshot().percentileValues();
+            long delay = percentiles.length > 0 && latency.count() > 0
+                    ? (long) percentiles[0].value(TimeUnit.NANOSECONDS)
+                    : hedging.getMaxDelay().toNanos();
+            return Duration.ofNanos(Math.max(hedging.getMinDelay().toNanos(),
+                    Math.min(hedging.getMaxDelay().toNanos(), delay)));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ClientSupport {
+    ShareItServerProperties properties;
+    ClientHttpRequestFactory requestFactory;
+    @Nullable
+    AsyncServerExchange asyncExchange;
+    @Nullable
+    Http2ServerExchange http2Exchange;
+    ResponseCache responseCache;
+    RequestCoalescer requestCoalescer;
+    ClientResilience clientResilience;
+    ClientRetries clientRetries;
+
+    public ClientSupport(ShareItServerProperties properties,
+                         ClientHttpRequestFactory shareItServerRequestFactory,
+                         ObjectProvider<AsyncServerExchange> asyncExchange,
+                         ObjectProvider<Http2ServerExchange> http2Exchange,
+                         ResponseCache responseCache,
+                         RequestCoalescer requestCoalescer,
+                         ClientResilience clientResilience,
+                         ClientRetries clientRetries) {
+        this.properties = properties;
+        this.requestFactory = shareItServerRequestFactory;
+        this.asyncExchange = asyncExchange.getIfAvailable();
+        this.http2Exchange = http2Exchange.getIfAvailable();
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.clientResilience = clientResilience;
+        this.clientRetries = clientRetries;
+    }
+
+    public String getServerUrl() {
+        return properties.getUrl();
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Отмена производного future ({@code thenApply}, {@code whenComplete}) сама до исходного не доходит,
+ * и HTTP-запрос продолжает занимать соединение. Здесь отмена передаётся обратно по цепочке до запроса.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompletableFutures {
+    public static <T, U> CompletableFuture<U> cancelling(CompletableFuture<T> source, CompletableFuture<U> derived) {
+        derived.whenComplete((value, e) -> {
+            if (derived.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return derived;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class ConnectionPoolWarmUp {
+    static final String WARM_UP_PATH = "/actuator/health";
+
+    ShareItServerProperties properties;
+    CloseableHttpClient shareItServerHttpClient;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int connections = properties.getPool().getWarmUpConnections();
+        if (connections <= 0 || properties.getProtocol() == ShareItServerProperties.Protocol.H2C) {
+            return;
+        }
+        AtomicInteger opened = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                executor.execute(() -> {
+                    if (openConnection()) {
+                        opened.incrementAndGet();
+                    }
+                });
+            }
+        }
+        log.info("Прогрев пула соединений с {}: открыто {} из {}", properties.getUrl(), opened.get(), connections);
+    }
+
+    private boolean openConnection() {
+        try {
+            return shareItServerHttpClient.execute(new HttpGet(properties.getUrl() + WARM_UP_PATH),
+                    response -> response.getCode() < 500);
+        } catch (Exception e) {
+            log.debug("Не удалось открыть соединение с {}: {}", properties.getUrl(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.http.ConnectionClosedException;
+import org.apache.hc.core5.http.ProtocolException;
+import org.apache.hc.core5.http2.H2ConnectionException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HTTP/2 (h2c) транспорт до сервера: все запросы мультиплексируются в одном соединении.
+ * Если сервер не понимает h2c (ошибка протокола), транспорт отключается и клиенты возвращаются к HTTP/1.1.
+ * Недоступность сервера при старте о протоколе ничего не говорит, поэтому проверка повторяется с backoff,
+ * пока сервер не ответит. Сервер без h2c принимает соединение и молча закрывает его после преамбулы HTTP/2;
+ * чтобы не спутать это с перезапуском сервера, при проверке решение принимается после двух таких закрытий подряд.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit-server", name = "protocol", havingValue = "h2c")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class Http2ServerExchange {
+    static final String PROBE_PATH = "/actuator/health";
+
+    ShareItServerProperties properties;
+    AsyncServerExchange exchange;
+    AtomicBoolean available = new AtomicBoolean(true);
+
+    public Http2ServerExchange(ShareItServerProperties properties,
+                               CloseableHttpAsyncClient shareItServerH2Client,
+                               ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.exchange = new AsyncServerExchange(shareItServerH2Client, objectMapper);
+    }
+
+    public boolean isAvailable() {
+        return available.get();
+    }
+
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(URI uri, HttpMethod method, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        CompletableFuture<ResponseEntity<byte[]>> response = exchange.exchange(uri, method, headers, body);
+        return CompletableFutures.cancelling(response, response.whenComplete((value, e) -> {
+            if (e != null && isProtocolError(e)) {
+                fallback(e);
+            }
+        }));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void probe() {
+        probe(properties.getHttp2().getProbeBackoff(), false);
+    }
+
+    private void probe(Duration backoff, boolean closedBefore) {
+        if (!isAvailable()) {
+            return;
+        }
+        CompletableFuture<ResponseEntity<byte[]>> probe;
+        try {
+            probe = exchange(URI.create(properties.getUrl() + PROBE_PATH), HttpMethod.GET, new HttpHeaders(), null);
+        } catch (RuntimeException e) {
+            probe = CompletableFuture.failedFuture(e);
+        }
+        probe.orTimeout(properties.getHttp2().getProbeTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, e) -> {
+                    if (e == null) {
+                        log.info("Соединение с {} установлено по h2c", properties.getUrl());
+                    } else if (isProtocolError(e) || closedBefore && isClosedWithoutResponse(e)) {
+                        fallback(e);
+                    } else {
+                        log.warn("Сервер {} недоступен, повторная проверка h2c через {}: {}",
+                                properties.getUrl(), backoff, e.getMessage());
+                        Duration next = backoff.multipliedBy(2);
+                        Duration max = properties.getHttp2().getMaxProbeBackoff();
+                        CompletableFuture.delayedExecutor(backoff.toMillis(), TimeUnit.MILLISECONDS)
+                                .execute(() -> probe(next.compareTo(max) > 0 ? max : next, isClosedWithoutResponse(e)));
+                    }
+                });
+    }
+
+    private void fallback(Throwable e) {
+        if (properties.getHttp2().isFallback() && available.compareAndSet(true, false)) {
+            log.warn("Сервер {} не поддерживает h2c, запросы переключены на HTTP/1.1: {}",
+                    properties.getUrl(), e.getMessage());
+        }
+    }
+
+    private static boolean isProtocolError(Throwable e) {
+        return hasCause(e, H2ConnectionException.class) || hasCause(e, ProtocolException.class);
+    }
+
+    private static boolean isClosedWithoutResponse(Throwable e) {
+        return hasCause(e, ConnectionClosedException.class);
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+@Configuration
+@EnableConfigurationProperties(ShareItServerProperties.class)
+public class HttpClientConfig {
+    @Bean
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(ShareItServerProperties properties) {
+        ShareItServerProperties.Pool pool = properties.getPool();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxTotal())
+                .setMaxConnPerRoute(pool.getMaxPerRoute())
+                .setDefaultConnectionConfig(connectionConfig(pool))
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                       ShareItServerProperties properties) {
+        ShareItServerProperties.Pool pool = properties.getPool();
+        TimeValue keepAlive = TimeValue.of(pool.getKeepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(pool))
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .disableContentCompression()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(pool.getEvictIdleAfter()))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server", name = "client-mode", havingValue = "async")
+    public CloseableHttpAsyncClient shareItServerAsyncClient(ShareItServerProperties properties) {
+        ShareItServerProperties.Pool pool = properties.getPool();
+        TimeValue keepAlive = TimeValue.of(pool.getKeepAlive());
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(pool.getMaxTotal())
+                        .setMaxConnPerRoute(pool.getMaxPerRoute())
+                        .setDefaultConnectionConfig(connectionConfig(pool))
+                        .build())
+                .setDefaultRequestConfig(requestConfig(pool))
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(pool.getEvictIdleAfter()))
+                .build();
+        client.start();
+        return client;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server", name = "protocol", havingValue = "h2c")
+    public CloseableHttpAsyncClient shareItServerH2Client(ShareItServerProperties properties) {
+        ShareItServerProperties.Pool pool = properties.getPool();
+        CloseableHttpAsyncClient client = HttpAsyncClients.customHttp2()
+                .setH2Config(H2Config.custom()
+                        .setMaxConcurrentStreams(properties.getHttp2().getMaxConcurrentStreams())
+                        .setPushEnabled(false)
+                        .build())
+                .setDefaultConnectionConfig(connectionConfig(pool))
+                .setDefaultRequestConfig(requestConfig(pool))
+                .evictIdleConnections(TimeValue.of(pool.getEvictIdleAfter()))
+                .build();
+        client.start();
+        return client;
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+    }
+
+    @Bean
+    public MeterBinder shareItServerPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+    }
+
+    private static ConnectionConfig connectionConfig(ShareItServerProperties.Pool pool) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(pool.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(pool.getResponseTimeout()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+    }
+
+    private static RequestConfig requestConfig(ShareItServerProperties.Pool pool) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(pool.getLeaseTimeout()))
+                .setResponseTimeout(Timeout.of(pool.getResponseTimeout()))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RequestCoalescer {
+    static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    boolean enabled;
+    List<String> routes;
+    Map<String, CompletableFuture<ResponseEntity<?>>> inFlight = new ConcurrentHashMap<>();
+    Counter leaders;
+    Counter joined;
+
+    public RequestCoalescer(ShareItServerProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.getCoalescing().isEnabled();
+        this.routes = properties.getCoalescing().getRoutes();
+        this.leaders = counter(meterRegistry, "leader");
+        this.joined = counter(meterRegistry, "joined");
+    }
+
+    public CompletableFuture<ResponseEntity<?>> execute(URI uri, @Nullable Long userId,
+                                                        Supplier<CompletableFuture<ResponseEntity<?>>> call) {
+        if (!isCoalescible(uri)) {
+            return call.get();
+        }
+        String key = uri + "|" + userId;
+        CompletableFuture<ResponseEntity<?>> leader = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            joined.increment();
+            return existing;
+        }
+        leaders.increment();
+        try {
+            call.get().whenComplete((response, e) -> {
+                inFlight.remove(key, leader);
+                if (e != null) {
+                    leader.completeExceptionally(e);
+                } else {
+                    leader.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, leader);
+            leader.completeExceptionally(e);
+        }
+        return leader;
+    }
+
+    private boolean isCoalescible(URI uri) {
+        if (!enabled) {
+            return false;
+        }
+        String path = uri.getPath();
+        return routes.stream().anyMatch(route -> PATH_MATCHER.match(route, path));
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("gateway.coalescing.requests")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,176 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ResponseCache {
+    static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    boolean enabled;
+    List<String> routes;
+    Duration freshFor;
+    Cache<Key, CachedResponse> cache;
+    AtomicLong generation = new AtomicLong();
+    Counter freshHits;
+    Counter revalidatedHits;
+    Counter misses;
+
+    public ResponseCache(ShareItServerProperties properties, MeterRegistry meterRegistry) {
+        ShareItServerProperties.Cache settings = properties.getCache();
+        this.enabled = settings.isEnabled();
+        this.routes = settings.getRoutes();
+        this.freshFor = settings.getFreshFor();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+        this.freshHits = counter(meterRegistry, "fresh");
+        this.revalidatedHits = counter(meterRegistry, "revalidated");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    public boolean isCacheable(URI uri) {
+        if (!enabled) {
+            return false;
+        }
+        String path = uri.getPath();
+        return routes.stream().anyMatch(route -> PATH_MATCHER.match(route, path));
+    }
+
+    public Key key(URI uri, @Nullable Long userId) {
+        return new Key(uri, userId);
+    }
+
+    @Nullable
+    public CachedResponse get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public boolean isFresh(CachedResponse cached) {
+        return System.nanoTime() - cached.validatedAt() < freshFor.toNanos();
+    }
+
+    public ResponseEntity<?> fresh(CachedResponse cached) {
+        freshHits.increment();
+        return cached.toResponseEntity();
+    }
+
+    /**
+     * Номер поколения кэша на момент отправки запроса: ответ, пришедший после сброса кэша,
+     * мог быть прочитан до изменения и не сохраняется.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public ResponseEntity<?> update(Key key, @Nullable CachedResponse cached, ResponseEntity<?> response,
+                                    long requestGeneration) {
+        boolean current = requestGeneration == generation.get();
+        if (cached != null && response.getStatusCode().value() == 304) {
+            revalidatedHits.increment();
+            if (current) {
+                cache.put(key, cached.revalidated());
+            }
+            return cached.toResponseEntity();
+        }
+        misses.increment();
+        String etag = response.getHeaders().getETag();
+        if (response.getStatusCode().is2xxSuccessful() && etag != null && current) {
+            cache.put(key, new CachedResponse(etag, response.getStatusCode(), response.getHeaders(),
+                    response.getBody(), System.nanoTime()));
+        } else if (cached != null) {
+            cache.invalidate(key);
+        }
+        return response;
+    }
+
+    /**
+     * Сбрасывает ответы, которые мог изменить запрос на uri от userId, остальные остаются в кэше.
+     * Поколение растёт при любой записи: ответы, прочитанные до неё, не сохраняются, даже если
+     * не попали под сброс, — так пропускается только часть записей в кэш, но не устаревшие данные.
+     */
+    public void invalidateAfterWrite(URI uri, @Nullable Long userId) {
+        generation.incrementAndGet();
+        Predicate<Key> affected = affectedBy(uri.getPath(), userId);
+        cache.asMap().keySet().removeIf(affected);
+    }
+
+    /**
+     * Какие закэшированные GET зависят от записи на path. Ответы вещей и запросов строятся из вещей,
+     * комментариев и подтверждённых бронирований; пользователи в кэш не попадают, но их имена
+     * есть в комментариях, а удаление каскадно убирает вещи и запросы, поэтому после них кэш сбрасывается целиком.
+     */
+    static Predicate<Key> affectedBy(String path, @Nullable Long userId) {
+        if (PATH_MATCHER.match("/items/*/comment", path)) {
+            return under(path.substring(0, path.lastIndexOf('/')));
+        }
+        if (path.equals("/items") || path.equals("/items/bulk")) {
+            return under("/items/search").or(under("/requests"));
+        }
+        if (PATH_MATCHER.match("/items/*", path)) {
+            return under(path).or(under("/items/search")).or(under("/requests"));
+        }
+        if (path.equals("/bookings") || path.equals("/bookings/bulk")) {
+            // новая бронь ждёт подтверждения, а в карточке вещи видны только подтверждённые
+            return key -> false;
+        }
+        if (PATH_MATCHER.match("/bookings/*", path)) {
+            // подтверждение меняет last/next booking, которые видит только владелец, он же и подтверждает
+            return under("/items").and(key -> Objects.equals(key.userId(), userId));
+        }
+        if (path.equals("/requests")) {
+            return under("/requests");
+        }
+        return key -> true;
+    }
+
+    private static Predicate<Key> under(String prefix) {
+        return key -> {
+            String path = key.uri().getPath();
+            return path.equals(prefix) || path.startsWith(prefix + "/");
+        };
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public record Key(URI uri, @Nullable Long userId) {
+    }
+
+    public record CachedResponse(String etag, HttpStatusCode status, HttpHeaders headers, @Nullable Object body,
+                                 long validatedAt) {
+        CachedResponse revalidated() {
+            return new CachedResponse(etag, status, headers, body, System.nanoTime());
+        }
+
+        ResponseEntity<?> toResponseEntity() {
+            return ResponseEntity.status(status).headers(headers).body(body);
+        }
+    }
+}
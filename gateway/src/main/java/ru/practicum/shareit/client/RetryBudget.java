@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Бюджет повторов: каждый исходный запрос добавляет {@code ratio} токена, каждый повтор или хедж тратит один.
+ * Так доля дополнительных запросов к маршруту не превышает {@code ratio} и повторы не раскачивают перегрузку.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class RetryBudget {
+    static final long SCALE = 1000;
+
+    long deposit;
+    long capacity;
+    AtomicLong balance;
+
+    RetryBudget(double ratio, int capacity) {
+        this.deposit = (long) (ratio * SCALE);
+        this.capacity = capacity * SCALE;
+        this.balance = new AtomicLong(this.capacity);
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-server")
+public class ShareItServerProperties {
+    String url;
+
+    boolean passthrough = true;
+
+    String acceptEncoding = "zstd, gzip";
+
+    ClientMode clientMode = ClientMode.BLOCKING;
+
+    Protocol protocol = Protocol.HTTP_1_1;
+
+    Http2 http2 = new Http2();
+
+    Pool pool = new Pool();
+
+    Cache cache = new Cache();
+
+    Coalescing coalescing = new Coalescing();
+
+    Retry retry = new Retry();
+
+    Hedging hedging = new Hedging();
+
+    public enum ClientMode {
+        BLOCKING,
+        ASYNC
+    }
+
+    public enum Protocol {
+        HTTP_1_1,
+        H2C
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Http2 {
+        int maxConcurrentStreams = 100;
+        boolean fallback = true;
+        Duration probeTimeout = Duration.ofSeconds(5);
+        Duration probeBackoff = Duration.ofSeconds(1);
+        Duration maxProbeBackoff = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Pool {
+        int maxTotal = 200;
+        int maxPerRoute = 200;
+        Duration keepAlive = Duration.ofSeconds(30);
+        Duration evictIdleAfter = Duration.ofSeconds(60);
+        Duration connectTimeout = Duration.ofSeconds(2);
+        Duration responseTimeout = Duration.ofSeconds(30);
+        Duration leaseTimeout = Duration.ofSeconds(5);
+        int warmUpConnections = 10;
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Cache {
+        boolean enabled = true;
+        List<String> routes = List.of("/items/*", "/requests", "/requests/*");
+        long maxEntries = 10_000;
+        Duration ttl = Duration.ofMinutes(10);
+        /**
+         * Сколько после последней проверки ответ отдаётся из кэша без запроса к серверу.
+         * Изменения, сделанные в обход этого gateway, видны с задержкой до freshFor;
+         * ноль означает условный запрос с If-None-Match на каждое попадание.
+         */
+        Duration freshFor = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Coalescing {
+        boolean enabled = true;
+        List<String> routes = List.of("/items/*", "/requests", "/requests/*");
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Retry {
+        boolean enabled = true;
+        int maxAttempts = 3;
+        Duration initialBackoff = Duration.ofMillis(50);
+        Duration maxBackoff = Duration.ofSeconds(1);
+        double budgetRatio = 0.1;
+        int budgetCapacity = 10;
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Hedging {
+        boolean enabled = false;
+        double percentile = 0.95;
+        Duration minDelay = Duration.ofMillis(5);
+        Duration maxDelay = Duration.ofMillis(500);
+        double budgetRatio = 0.05;
+        int budgetCapacity = 10;
+    }
+}
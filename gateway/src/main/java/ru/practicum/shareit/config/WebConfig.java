@@ -0,0 +1,24 @@
+package ru.practicum.shareit.config;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.ratelimit.RateLimitInterceptor;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).excludePathPatterns("/actuator/**");
+    }
+}
@@ -1,21 +1,57 @@
 package ru.practicum.shareit.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import ru.practicum.shareit.compression.DecodedBodyTooLargeException;
 
 @RestControllerAdvice()
 public class ErrorHandler {
-    @ExceptionHandler({MethodArgumentNotValidException.class, IllegalArgumentException.class})
+    @ExceptionHandler({MethodArgumentNotValidException.class, HandlerMethodValidationException.class,
+            IllegalArgumentException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ExceptionResponse validationExceptionHandle(Exception e) {
         return new ExceptionResponse("Ошибка валидации", e.getMessage());
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ExceptionResponse serviceUnavailableExceptionHandle(Exception e) {
+        return new ExceptionResponse("Сервис временно недоступен", e.getMessage());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ExceptionResponse> tooManyRequestsExceptionHandle(TooManyRequestsException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ExceptionResponse("Слишком много запросов", e.getMessage()));
+    }
+
+    @ExceptionHandler(DecodedBodyTooLargeException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ExceptionResponse payloadTooLargeExceptionHandle(DecodedBodyTooLargeException e) {
+        return new ExceptionResponse("Слишком большой запрос", e.getMessage());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ExceptionResponse> messageNotReadableExceptionHandle(HttpMessageNotReadableException e) {
+        if (e.getMostSpecificCause() instanceof DecodedBodyTooLargeException tooLarge) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(payloadTooLargeExceptionHandle(tooLarge));
+        }
+        return ResponseEntity.internalServerError().body(internalServerExceptionHandle(e));
+    }
+
     @ExceptionHandler({Throwable.class})
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ExceptionResponse internalServerExceptionHandle(Exception e) {
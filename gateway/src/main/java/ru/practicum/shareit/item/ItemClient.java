@@ -1,55 +1,64 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.client.ClientSupport;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final String CLIENT_NAME = "item";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(RestTemplateBuilder builder, ClientSupport support) {
         super(
+                CLIENT_NAME,
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(support.getServerUrl() + API_PREFIX))
+                        .requestFactory(support::getRequestFactory)
+                        .build(),
+                support
         );
     }
 
-    public ResponseEntity<Object> findAllOwnerItems(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> findAllOwnerItems(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findItemsByNameOrDescription(Long userId, String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> findItemsByNameOrDescription(Long userId, String text, Integer from,
+                                                                                  Integer size) {
+        Map<String, Object> parameters = Map.of("text", text, "from", from, "size", size);
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemById(Long userId, Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemById(Long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> createItem(Long userId, NewItemDto newItemDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(Long userId, NewItemDto newItemDto) {
         return post("", userId, newItemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, Long itemId, UpdateItemDto updateItemDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItems(Long userId, List<NewItemDto> newItemDtos) {
+        return post("/bulk", userId, newItemDtos);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> updateItem(Long userId, Long itemId, UpdateItemDto updateItemDto) {
         return patch("/" + itemId, userId, updateItemDto);
     }
 
-    public ResponseEntity<Object> addComment(Long userId, Long itemId, NewCommentDto newCommentDto) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(Long userId, Long itemId, NewCommentDto newCommentDto) {
         return post(("/" + itemId + "/comment"), userId, newCommentDto);
     }
 }
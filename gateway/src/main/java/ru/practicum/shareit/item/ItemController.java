@@ -1,56 +1,84 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.bulk.BulkImporter;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/items")
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
 public class ItemController {
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_OFFSET = 1000;
+
     ItemClient itemClient;
+    BulkImporter bulkImporter;
 
     @GetMapping
-    public ResponseEntity<Object> findAllOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> findAllOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemClient.findAllOwnerItems(userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findItemsByNameOrDescription(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                               @RequestParam(value = "text", required = false) String text) {
-        return itemClient.findItemsByNameOrDescription(userId, text);
+    public CompletableFuture<ResponseEntity<Object>> findItemsByNameOrDescription(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                                  @RequestParam(value = "text", defaultValue = "") String text,
+                                                                                  @PositiveOrZero
+                                                                                  @Max(MAX_SEARCH_OFFSET)
+                                                                                  @RequestParam(name = "from", defaultValue = "0")
+                                                                                  Integer from,
+                                                                                  @Positive
+                                                                                  @Max(MAX_PAGE_SIZE)
+                                                                                  @RequestParam(name = "size", defaultValue = "10")
+                                                                                  Integer size) {
+        return itemClient.findItemsByNameOrDescription(userId, text, from, size);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @PathVariable("itemId") Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @PathVariable("itemId") Long itemId) {
         return itemClient.getItemById(userId, itemId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @Valid @RequestBody NewItemDto newItemDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @Valid @RequestBody NewItemDto newItemDto) {
         return itemClient.createItem(userId, newItemDto);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void createItems(@RequestHeader("X-Sharer-User-Id") Long userId, InputStream body,
+                            HttpServletResponse response) throws IOException {
+        bulkImporter.importLines(body, response, NewItemDto.class, items -> itemClient.createItems(userId, items));
+    }
+
     @PatchMapping("{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable("itemId") Long itemId,
-                                             @Valid @RequestBody UpdateItemDto updateItemDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @PathVariable("itemId") Long itemId,
+                                                                @Valid @RequestBody UpdateItemDto updateItemDto) {
         return itemClient.updateItem(userId, itemId, updateItemDto);
     }
 
     @PostMapping("{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable("itemId") Long itemId,
-                                             @Valid @RequestBody NewCommentDto newCommentDto) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @PathVariable("itemId") Long itemId,
+                                                                @Valid @RequestBody NewCommentDto newCommentDto) {
         return itemClient.addComment(userId, itemId, newCommentDto);
     }
 }
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.ratelimit;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.time.Duration;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    RateLimitProperties properties;
+    RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (!properties.isEnabled() || userId == null || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        long id;
+        try {
+            id = Long.parseLong(userId.trim());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+        Duration wait = rateLimiter.tryAcquire(id, request.getRequestURI());
+        if (!wait.isZero()) {
+            throw new TooManyRequestsException("Превышен лимит запросов для пользователя " + id, wait);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    boolean enabled = true;
+
+    long maxKeys = 100_000;
+
+    Duration idleEvictAfter = Duration.ofMinutes(10);
+
+    Limit defaults = new Limit();
+
+    Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Limit {
+        int capacity = 100;
+        double refillPerSecond = 50;
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Group extends Limit {
+        List<String> routes = List.of();
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RateLimiter {
+    static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    static final String DEFAULT_GROUP = "default";
+
+    RateLimitProperties properties;
+    Cache<String, TokenBucket> buckets;
+    MeterRegistry meterRegistry;
+    Ticker ticker;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleEvictAfter())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "gateway-rate-limit-buckets");
+    }
+
+    /**
+     * @return {@link Duration#ZERO}, если запрос пропущен, иначе время до появления токена
+     */
+    public Duration tryAcquire(long userId, String path) {
+        String group = DEFAULT_GROUP;
+        RateLimitProperties.Limit limit = properties.getDefaults();
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            if (entry.getValue().getRoutes().stream().anyMatch(route -> PATH_MATCHER.match(route, path))) {
+                group = entry.getKey();
+                limit = entry.getValue();
+                break;
+            }
+        }
+
+        long now = ticker.read();
+        RateLimitProperties.Limit groupLimit = limit;
+        TokenBucket bucket = buckets.get(userId + "|" + group, key -> new TokenBucket(groupLimit, now));
+        long waitNanos = bucket.tryAcquire(now);
+        meterRegistry.counter("gateway.rate-limit.requests",
+                "group", group, "result", waitNanos == 0 ? "allowed" : "rejected").increment();
+        return Duration.ofNanos(waitNanos);
+    }
+
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Токен-бакет в форме GCRA: всё состояние хранится в одном {@link AtomicLong}
+ * (теоретическое время прихода следующего запроса), поэтому захват токена — один CAS без блокировок.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class TokenBucket {
+    long emissionIntervalNanos;
+    long burstToleranceNanos;
+    AtomicLong theoreticalArrival;
+
+    TokenBucket(RateLimitProperties.Limit limit, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / limit.getRefillPerSecond());
+        this.burstToleranceNanos = emissionIntervalNanos * limit.getCapacity();
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0, если токен выдан, иначе время в наносекундах до появления следующего токена
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - burstToleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
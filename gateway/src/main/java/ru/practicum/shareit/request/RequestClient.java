@@ -1,45 +1,53 @@
 package ru.practicum.shareit.gateway.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.client.ClientSupport;
 import ru.practicum.shareit.request.dto.NewRequestDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private static final String CLIENT_NAME = "request";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(RestTemplateBuilder builder, ClientSupport support) {
         super(
+                CLIENT_NAME,
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(support.getServerUrl() + API_PREFIX))
+                        .requestFactory(support::getRequestFactory)
+                        .build(),
+                support
         );
     }
 
-    public ResponseEntity<Object> getRequests(Long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getRequests(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestById(Long userId, Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequests(Long userId, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of("cursor", cursor, "size", size);
+        return get("/all?cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getRequestById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> createRequest(Long userId, NewRequestDto newRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createRequest(Long userId, NewRequestDto newRequestDto) {
         return post("", userId, newRequestDto);
     }
 
-    public ResponseEntity<Object> getAllRequestsById(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequestsById(Long userId) {
         return get("", userId);
     }
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AccessLevel;
@@ -10,34 +11,42 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.NewRequestDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping(path = "/requests")
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
 public class RequestController {
+    static final int MAX_PAGE_SIZE = 100;
+
     ru.practicum.shareit.gateway.request.RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @Valid @RequestBody NewRequestDto newRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @Valid @RequestBody NewRequestDto newRequestDto) {
         return requestClient.createRequest(userId, newRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllRequestsById(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequestsById(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return requestClient.getAllRequestsById(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
-                                              @RequestParam(name = "size", defaultValue = "50") @Positive Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
+                                                                 @RequestParam(name = "size", defaultValue = "50") @Positive @Max(MAX_PAGE_SIZE) Integer size,
+                                                                 @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return requestClient.getRequests(userId, cursor, size);
+        }
         return requestClient.getRequests(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @PathVariable("requestId") Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                    @PathVariable("requestId") Long requestId) {
         return requestClient.getRequestById(userId, requestId);
     }
 }
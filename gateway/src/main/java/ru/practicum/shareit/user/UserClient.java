@@ -1,47 +1,56 @@
 package ru.practicum.shareit.user;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.client.ClientSupport;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    private static final String CLIENT_NAME = "user";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(RestTemplateBuilder builder, ClientSupport support) {
         super(
+                CLIENT_NAME,
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(support.getServerUrl() + API_PREFIX))
+                        .requestFactory(support::getRequestFactory)
+                        .build(),
+                support
         );
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getUsers() {
         return get("/");
     }
 
-    public ResponseEntity<Object> getUserById(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUserById(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> createUser(CreateUserDto newUserDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(CreateUserDto newUserDto) {
         return post("", newUserDto);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UpdateUserDto updateUserDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUsers(List<CreateUserDto> newUserDtos) {
+        return post("/bulk", newUserDtos);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> updateUser(Long userId, UpdateUserDto updateUserDto) {
         return patch("/" + userId, updateUserDto);
     }
 
-    public ResponseEntity<Object> deleteUserById(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUserById(Long userId) {
         return delete("/" + userId);
     }
 }
\ No newline at end of file
@@ -1,43 +1,56 @@
 package ru.practicum.shareit.user;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.bulk.BulkImporter;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/users")
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
 public class UserController {
     UserClient userClient;
+    BulkImporter bulkImporter;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getUsers() {
         return userClient.getUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable("userId") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUserById(@PathVariable("userId") Long userId) {
         return userClient.getUserById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody CreateUserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@Valid @RequestBody CreateUserDto userDto) {
         return userClient.createUser(userDto);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void createUsers(InputStream body, HttpServletResponse response) throws IOException {
+        bulkImporter.importLines(body, response, CreateUserDto.class, userClient::createUsers);
+    }
+
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable("userId") Long userId, @Valid @RequestBody UpdateUserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable("userId") Long userId, @Valid @RequestBody UpdateUserDto userDto) {
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUserById(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUserById(@PathVariable Long userId) {
         return userClient.deleteUserById(userId);
     }
 }
\ No newline at end of file
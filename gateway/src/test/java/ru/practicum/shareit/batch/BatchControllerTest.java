@@ -0,0 +1,190 @@
+package ru.practicum.shareit.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.bulk.BulkImporter;
+import ru.practicum.shareit.gateway.request.RequestClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.dto.NewItemDto;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+import ru.practicum.shareit.request.RequestController;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {BatchController.class, ItemController.class, UserController.class,
+        BookingController.class, RequestController.class})
+@Import({BatchDispatcher.class, RateLimiter.class, SimpleMeterRegistry.class})
+class BatchControllerTest {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    ItemClient itemClient;
+
+    @MockBean
+    UserClient userClient;
+
+    @MockBean
+    BookingClient bookingClient;
+
+    @MockBean
+    RequestClient requestClient;
+
+    @MockBean
+    BulkImporter bulkImporter;
+
+    @BeforeEach
+    void setUp() {
+        when(itemClient.getItemById(anyLong(), anyLong())).thenReturn(ok(Map.of("id", 7)));
+        when(itemClient.findItemsByNameOrDescription(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(ok(Map.of()));
+        when(itemClient.createItem(anyLong(), any())).thenReturn(ok(Map.of("id", 8)));
+        when(requestClient.getRequests(anyLong(), anyInt(), anyInt())).thenReturn(ok(Map.of()));
+    }
+
+    @Test
+    void dispatchesToControllerHandlers() throws Exception {
+        batch(1L,
+                sub("a", "GET", "/items/7", null),
+                sub("b", "POST", "/items", "{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}"))
+                .andExpect(jsonPath("$[0].id").value("a"))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].body.id").value(7))
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[1].body.id").value(8));
+
+        verify(itemClient).getItemById(1L, 7L);
+        verify(itemClient).createItem(eq(1L), any(NewItemDto.class));
+    }
+
+    @Test
+    void appliesControllerDefaultsAndDecodesQuery() throws Exception {
+        batch(1L,
+                sub("GET", "/items/search"),
+                sub("GET", "/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C&from=5&size=20"))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(200));
+
+        verify(itemClient).findItemsByNameOrDescription(1L, "", 0, 10);
+        verify(itemClient).findItemsByNameOrDescription(1L, "дрель", 5, 20);
+    }
+
+    @Test
+    void searchWithoutTextUsesEmptyTextOutsideBatch() throws Exception {
+        MvcResult result = mvc.perform(get("/items/search").header(USER_ID_HEADER, 1L)).andReturn();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        verify(itemClient).findItemsByNameOrDescription(1L, "", 0, 10);
+    }
+
+    @Test
+    void appliesControllerParameterConstraints() throws Exception {
+        batch(1L,
+                sub("GET", "/requests/all?size=100000"),
+                sub("GET", "/items/search?text=x&from=-1"))
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[0].body.description", containsString("size")))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].body.description", containsString("from")));
+
+        verify(requestClient, never()).getRequests(anyLong(), anyInt(), anyInt());
+        verify(itemClient, never()).findItemsByNameOrDescription(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void validatesRequestBody() throws Exception {
+        batch(1L,
+                sub(null, "POST", "/items", "{\"name\": \"\", \"available\": true}"),
+                sub("POST", "/items"))
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[0].body.description", containsString("newItemDto.name")))
+                .andExpect(jsonPath("$[1].status").value(400));
+
+        verify(itemClient, never()).createItem(anyLong(), any());
+    }
+
+    @Test
+    void rejectsInvalidArguments() throws Exception {
+        batch(null,
+                sub("GET", "/items/7"),
+                sub("GET", "/items/abc"))
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[0].body.description", containsString(USER_ID_HEADER)))
+                .andExpect(jsonPath("$[1].status").value(400));
+
+        batch(1L,
+                sub("GET", "/bookings?state=unknown"),
+                sub("GET", "/bookings/owner?state=unknown"))
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[1].status").value(400));
+    }
+
+    @Test
+    void doesNotDispatchStreamingOrBatchRoutes() throws Exception {
+        batch(1L,
+                sub(null, "POST", "/items/bulk", "{}"),
+                sub(null, "POST", "/batch", "{\"requests\": []}"),
+                sub("GET", "/unknown"))
+                .andExpect(jsonPath("$[0].status").value(404))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[2].status").value(404));
+    }
+
+    private ResultActions batch(Long userId, String... requests) throws Exception {
+        var request = post("/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"requests\": [" + String.join(", ", requests) + "]}");
+        if (userId != null) {
+            request.header(USER_ID_HEADER, userId);
+        }
+        MvcResult result = mvc.perform(request).andReturn();
+        return mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    private static String sub(String method, String path) {
+        return sub(null, method, path, null);
+    }
+
+    private static String sub(String id, String method, String path, String body) {
+        return "{\"id\": " + (id == null ? "null" : "\"" + id + "\"")
+                + ", \"method\": \"" + method + "\", \"path\": \"" + path + "\""
+                + (body == null ? "" : ", \"body\": " + body) + "}";
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> ok(Object body) {
+        return CompletableFuture.completedFuture(ResponseEntity.ok(body));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.bench;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Число соединений gateway с сервером и задержки при HTTP/1.1 и h2c.
+ * Сервер заменён заглушкой с задержкой 50 мс, соединения считаются на её стороне.
+ * Запуск: {@code mvn -P bench -pl gateway -am test -Dtest=Http2Benchmark -Dsurefire.failIfNoSpecifiedTests=false}
+ */
+@Tag("benchmark")
+class Http2Benchmark {
+    static final Duration UPSTREAM_LATENCY = Duration.ofMillis(50);
+    static final int CONCURRENCY = 100;
+
+    @Test
+    void compareConnectionsAndLatencyOfHttp11AndH2c() throws Exception {
+        try (StubServer server = new StubServer(UPSTREAM_LATENCY)) {
+            LoadGenerator.Result http11 = measure(server, "http_1_1");
+            int http11Connections = server.peakConnections();
+            LoadGenerator.Result h2c = measure(server, "h2c");
+            int h2cConnections = server.peakConnections();
+
+            System.out.println("| Протокол     | Запросов | Ошибок |     RPS |    p50    |    p99    | Соединений |");
+            System.out.println("|--------------|----------|--------|---------|-----------|-----------|------------|");
+            System.out.println(http11.row("HTTP/1.1") + String.format(" %10d |", http11Connections));
+            System.out.println(h2c.row("h2c") + String.format(" %10d |", h2cConnections));
+
+            assertThat(http11.errors()).isZero();
+            assertThat(h2c.errors()).isZero();
+            assertThat(h2cConnections).isEqualTo(1);
+            assertThat(http11Connections).isGreaterThan(h2cConnections);
+        }
+    }
+
+    static LoadGenerator.Result measure(StubServer server, String protocol) throws Exception {
+        try (ConfigurableApplicationContext gateway = VirtualThreadBenchmark.startGateway(server, Map.of(
+                "shareit-server.protocol", protocol,
+                "shareit-server.http2.max-concurrent-streams", CONCURRENCY,
+                "spring.threads.virtual.enabled", true))) {
+            int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+            server.resetPeakConnections();
+            return LoadGenerator.run(URI.create("http://localhost:" + port + "/users/1"), CONCURRENCY,
+                    Duration.ofSeconds(5), Duration.ofSeconds(20));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Замкнутая нагрузка: concurrency клиентов шлют запросы друг за другом без пауз.
+ * Первые warmUp секунд не учитываются.
+ */
+final class LoadGenerator {
+    private LoadGenerator() {
+    }
+
+    static Result run(URI uri, int concurrency, Duration warmUp, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long measureFrom = System.nanoTime() + warmUp.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        LongAdder errors = new LongAdder();
+        List<Future<long[]>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < stopAt) {
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        long finished = System.nanoTime();
+                        if (now < measureFrom || finished > stopAt) {
+                            continue;
+                        }
+                        if (status != 200) {
+                            errors.increment();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = finished - now;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> worker : workers) {
+                long[] latencies = worker.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            Arrays.sort(all);
+            return new Result(all.length, errors.sum(), all.length / (double) duration.toSeconds(),
+                    percentile(all, 0.5), percentile(all, 0.99));
+        } finally {
+            client.close();
+        }
+    }
+
+    private static Duration percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)]);
+    }
+
+    record Result(long requests, long errors, double rps, Duration p50, Duration p99) {
+        String row(String name) {
+            return String.format("| %-12s | %8d | %6d | %7.0f | %6d мс | %6d мс |", name, requests, errors, rps,
+                    p50.toMillis(), p99.toMillis());
+        }
+    }
+}
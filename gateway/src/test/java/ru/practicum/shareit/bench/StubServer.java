@@ -0,0 +1,105 @@
+package ru.practicum.shareit.bench;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Заглушка ShareIt Server для замеров: на любой запрос отвечает одним и тем же JSON после задержки,
+ * имитирующей работу с базой. Понимает h2c (если не отключено) и считает открытые соединения и запросы.
+ */
+public class StubServer implements AutoCloseable {
+    static final byte[] BODY = ("{\"id\":1,\"name\":\"Дрель\",\"description\":\"Ударная дрель с набором свёрл\","
+            + "\"available\":true,\"lastBooking\":null,\"nextBooking\":null,\"comments\":[],\"requestId\":null}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Tomcat tomcat = new Tomcat();
+    private final Connector connector = new Connector();
+    private final AtomicInteger peakConnections = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+
+    public StubServer(Duration latency) throws IOException, LifecycleException {
+        this(latency, 0, true);
+    }
+
+    public StubServer(Duration latency, int port, boolean h2c) throws IOException, LifecycleException {
+        tomcat.setBaseDir(Files.createTempDirectory("stub-server").toString());
+        connector.setPort(port);
+        if (h2c) {
+            connector.addUpgradeProtocol(new Http2Protocol());
+        }
+        protocol().setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        tomcat.getService().addConnector(connector);
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "stub", new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                requests.incrementAndGet();
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                response.setContentType("application/json");
+                response.setContentLength(BODY.length);
+                response.getOutputStream().write(BODY);
+            }
+        });
+        context.addServletMappingDecoded("/*", "stub");
+        tomcat.start();
+        sampler.scheduleAtFixedRate(() -> peakConnections.accumulateAndGet(openConnections(), Math::max),
+                0, 20, TimeUnit.MILLISECONDS);
+    }
+
+    public String url() {
+        return "http://localhost:" + connector.getLocalPort();
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public void resetPeakConnections() {
+        peakConnections.set(0);
+    }
+
+    public int peakConnections() {
+        return peakConnections.get();
+    }
+
+    @Override
+    public void close() throws LifecycleException {
+        sampler.shutdownNow();
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    /**
+     * Acceptor Tomcat резервирует место под следующее соединение до accept(), поэтому счётчик на единицу больше.
+     */
+    private int openConnections() {
+        return (int) Math.max(0, protocol().getConnectionCount() - 1);
+    }
+
+    private AbstractProtocol<?> protocol() {
+        return (AbstractProtocol<?>) connector.getProtocolHandler();
+    }
+}
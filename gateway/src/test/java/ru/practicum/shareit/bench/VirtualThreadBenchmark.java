@@ -0,0 +1,76 @@
+package ru.practicum.shareit.bench;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Пропускная способность gateway на платформенных и виртуальных потоках при 400 параллельных клиентах.
+ * Сервер заменён заглушкой с задержкой 1 с, поэтому на платформенных потоках gateway упирается в пул Tomcat (200 потоков).
+ * Запуск: {@code mvn -P bench -pl gateway -am test -Dtest=VirtualThreadBenchmark -Dsurefire.failIfNoSpecifiedTests=false}
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmark {
+    static final Duration UPSTREAM_LATENCY = Duration.ofSeconds(1);
+    static final int CONCURRENCY = 400;
+
+    @Test
+    void compareThroughputOfPlatformAndVirtualThreads() throws Exception {
+        try (StubServer server = new StubServer(UPSTREAM_LATENCY)) {
+            LoadGenerator.Result platform = measure(server, false);
+            LoadGenerator.Result virtual = measure(server, true);
+
+            System.out.println("| Потоки       | Запросов | Ошибок |     RPS |    p50    |    p99    |");
+            System.out.println("|--------------|----------|--------|---------|-----------|-----------|");
+            System.out.println(platform.row("платформенные"));
+            System.out.println(virtual.row("виртуальные"));
+
+            assertThat(platform.errors()).isZero();
+            assertThat(virtual.errors()).isZero();
+        }
+    }
+
+    static LoadGenerator.Result measure(StubServer server, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext gateway = startGateway(server, Map.of(
+                "spring.threads.virtual.enabled", virtualThreads))) {
+            int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+            return LoadGenerator.run(URI.create("http://localhost:" + port + "/users/1"), CONCURRENCY,
+                    Duration.ofSeconds(10), Duration.ofSeconds(20));
+        }
+    }
+
+    /**
+     * Gateway со всеми оптимизациями, которые прячут задержку сервера (кэш, склейка запросов), выключенными,
+     * и с пулом соединений, не ограничивающим параллельность.
+     */
+    static ConfigurableApplicationContext startGateway(StubServer server, Map<String, Object> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>(Map.<String, Object>ofEntries(
+                Map.entry("server.port", 0),
+                Map.entry("shareit-server.url", server.url()),
+                Map.entry("shareit-server.pool.max-total", 2000),
+                Map.entry("shareit-server.pool.max-per-route", 2000),
+                Map.entry("shareit-server.pool.warm-up-connections", 0),
+                Map.entry("shareit-server.cache.enabled", false),
+                Map.entry("shareit-server.coalescing.enabled", false),
+                Map.entry("shareit.rate-limit.enabled", false),
+                Map.entry("resilience4j.bulkhead.instances.user.max-concurrent-calls", 10_000),
+                Map.entry("resilience4j.circuitbreaker.instances.user.slow-call-duration-threshold", "60s"),
+                Map.entry("logging.level.root", "WARN"),
+                Map.entry("logging.level.org.springframework.web.client.RestTemplate", "WARN")));
+        properties.putAll(overrides);
+        return new SpringApplicationBuilder(ShareItGateway.class)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+}
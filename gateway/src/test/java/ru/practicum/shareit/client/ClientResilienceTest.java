@@ -0,0 +1,124 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientResilienceTest {
+    static final String CLIENT = "item";
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+    final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(2)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    final ClientResilience resilience = new ClientResilience(circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void opensCircuitOnServerErrorsAndRejectsWithoutCallingServer() {
+        for (int i = 0; i < 4; i++) {
+            resilience.execute(CLIENT, () -> respond(HttpStatus.SERVICE_UNAVAILABLE)).join();
+        }
+
+        assertThat(circuitBreakerRegistry.circuitBreaker(CLIENT).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        CompletableFuture<ResponseEntity<?>> rejected = resilience.execute(CLIENT, () -> respond(HttpStatus.OK));
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(CallNotPermittedException.class);
+        assertThat(calls).hasValue(4);
+        assertThat(rejections("circuit-breaker")).isEqualTo(1);
+    }
+
+    @Test
+    void countsExceptionsAsFailuresButNotClientErrors() {
+        resilience.execute(CLIENT, () -> respond(HttpStatus.NOT_FOUND)).join();
+        resilience.execute(CLIENT, () -> respond(HttpStatus.BAD_REQUEST)).join();
+        resilience.execute(CLIENT, () -> CompletableFuture.failedFuture(new IllegalStateException("timeout")));
+        resilience.execute(CLIENT, () -> {
+            throw new IllegalStateException("пул соединений исчерпан");
+        });
+
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker(CLIENT).getMetrics();
+        assertThat(metrics.getNumberOfSuccessfulCalls()).isEqualTo(2);
+        assertThat(metrics.getNumberOfFailedCalls()).isEqualTo(2);
+        assertThat(circuitBreakerRegistry.circuitBreaker(CLIENT).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void rejectsCallsBeyondBulkheadLimitAndReleasesPermits() {
+        CompletableFuture<ResponseEntity<?>> first = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> second = new CompletableFuture<>();
+        resilience.execute(CLIENT, () -> first);
+        resilience.execute(CLIENT, () -> second);
+
+        CompletableFuture<ResponseEntity<?>> rejected = resilience.execute(CLIENT, () -> respond(HttpStatus.OK));
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(BulkheadFullException.class);
+        assertThat(calls).hasValue(0);
+        assertThat(rejections("bulkhead")).isEqualTo(1);
+
+        first.complete(ResponseEntity.ok().build());
+        assertThat(resilience.execute(CLIENT, () -> respond(HttpStatus.OK)).join().getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(bulkheadRegistry.bulkhead(CLIENT).getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void releasesBulkheadPermitWhenCircuitIsOpen() {
+        circuitBreakerRegistry.circuitBreaker(CLIENT).transitionToOpenState();
+
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<ResponseEntity<?>> rejected = resilience.execute(CLIENT, () -> respond(HttpStatus.OK));
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(CallNotPermittedException.class);
+        }
+        assertThat(bulkheadRegistry.bulkhead(CLIENT).getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void cancellationReachesServerCallWithoutCountingFailure() {
+        CompletableFuture<ResponseEntity<?>> server = new CompletableFuture<>();
+
+        resilience.execute(CLIENT, () -> server).cancel(true);
+
+        assertThat(server).isCancelled();
+        assertThat(bulkheadRegistry.bulkhead(CLIENT).getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+        assertThat(circuitBreakerRegistry.circuitBreaker(CLIENT).getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void isolatesClients() {
+        circuitBreakerRegistry.circuitBreaker(CLIENT).transitionToOpenState();
+
+        assertThat(resilience.execute("user", () -> respond(HttpStatus.OK)).join().getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private CompletableFuture<ResponseEntity<?>> respond(HttpStatus status) {
+        calls.incrementAndGet();
+        return CompletableFuture.completedFuture(ResponseEntity.status(status).build());
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.counter("gateway.resilience.rejections", "client", CLIENT, "reason", reason).count();
+    }
+}
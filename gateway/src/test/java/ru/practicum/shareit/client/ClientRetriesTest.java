@@ -0,0 +1,172 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientRetriesTest {
+    static final String CLIENT = "item";
+    static final String ROUTE = "GET /items/{id}";
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final ShareItServerProperties properties = new ShareItServerProperties();
+    final AtomicInteger calls = new AtomicInteger();
+    ClientRetries retries;
+
+    @BeforeEach
+    void setUp() {
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        retries.shutdown();
+    }
+
+    @Test
+    void retriesConnectionFailuresUntilSuccess() throws InterruptedException {
+        retries = new ClientRetries(properties, meterRegistry);
+
+        ResponseEntity<?> response = join(retries.execute(CLIENT, HttpMethod.GET, item(1), () -> failTimes(2)));
+
+        assertThat(response.getBody()).isEqualTo("item");
+        assertThat(calls).hasValue(3);
+        assertThat(awaitCount("gateway.retry.requests", "recovered", 1)).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        retries = new ClientRetries(properties, meterRegistry);
+
+        CompletableFuture<ResponseEntity<?>> result = retries.execute(CLIENT, HttpMethod.GET, item(1),
+                () -> failTimes(Integer.MAX_VALUE));
+
+        assertThatThrownBy(() -> join(result)).hasRootCauseInstanceOf(ResourceAccessException.class);
+        assertThat(calls).hasValue(properties.getRetry().getMaxAttempts());
+        assertThat(count("gateway.retry.requests", "exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotRetryNonIdempotentMethods() {
+        retries = new ClientRetries(properties, meterRegistry);
+
+        CompletableFuture<ResponseEntity<?>> result = retries.execute(CLIENT, HttpMethod.POST, item(1),
+                () -> failTimes(1));
+
+        assertThatThrownBy(() -> join(result)).hasRootCauseInstanceOf(ResourceAccessException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void doesNotRetryFailuresOtherThanConnectionErrors() {
+        retries = new ClientRetries(properties, meterRegistry);
+
+        CompletableFuture<ResponseEntity<?>> result = retries.execute(CLIENT, HttpMethod.GET, item(1), () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("пул соединений исчерпан"));
+        });
+
+        assertThatThrownBy(() -> join(result)).hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void stopsRetryingRouteWhenBudgetIsSpent() {
+        properties.getRetry().setMaxAttempts(2);
+        properties.getRetry().setBudgetRatio(0);
+        properties.getRetry().setBudgetCapacity(1);
+        retries = new ClientRetries(properties, meterRegistry);
+
+        CompletableFuture<ResponseEntity<?>> first = retries.execute(CLIENT, HttpMethod.GET, item(1),
+                () -> failTimes(Integer.MAX_VALUE));
+        assertThatThrownBy(() -> join(first)).hasRootCauseInstanceOf(ResourceAccessException.class);
+        CompletableFuture<ResponseEntity<?>> second = retries.execute(CLIENT, HttpMethod.GET, item(2),
+                () -> failTimes(Integer.MAX_VALUE));
+        assertThatThrownBy(() -> join(second)).hasRootCauseInstanceOf(ResourceAccessException.class);
+
+        assertThat(calls).hasValue(3);
+        assertThat(count("gateway.retry.requests", "exhausted")).isEqualTo(1);
+        assertThat(count("gateway.retry.requests", "budget-exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void sendsHedgeWhenPrimaryIsSlow() throws InterruptedException {
+        properties.getRetry().setEnabled(false);
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setMinDelay(Duration.ofMillis(10));
+        properties.getHedging().setMaxDelay(Duration.ofMillis(10));
+        retries = new ClientRetries(properties, meterRegistry);
+
+        ResponseEntity<?> response = join(retries.execute(CLIENT, HttpMethod.GET, item(1), () ->
+                calls.incrementAndGet() == 1
+                        ? new CompletableFuture<>()
+                        : CompletableFuture.completedFuture(ResponseEntity.ok("hedge"))));
+
+        assertThat(response.getBody()).isEqualTo("hedge");
+        assertThat(count("gateway.hedge.requests", "sent")).isEqualTo(1);
+        assertThat(awaitCount("gateway.hedge.requests", "hedge-won", 1)).isEqualTo(1);
+    }
+
+    @Test
+    void cancelsLosingAttemptWhenHedgeWins() throws InterruptedException {
+        properties.getRetry().setEnabled(false);
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setMinDelay(Duration.ofMillis(10));
+        properties.getHedging().setMaxDelay(Duration.ofMillis(10));
+        retries = new ClientRetries(properties, meterRegistry);
+        CompletableFuture<ResponseEntity<?>> primary = new CompletableFuture<>();
+
+        ResponseEntity<?> response = join(retries.execute(CLIENT, HttpMethod.GET, item(1), () ->
+                calls.incrementAndGet() == 1
+                        ? primary
+                        : CompletableFuture.completedFuture(ResponseEntity.ok("hedge"))));
+
+        assertThat(response.getBody()).isEqualTo("hedge");
+        assertThat(awaitCount("gateway.hedge.requests", "primary-cancelled", 1)).isEqualTo(1);
+        assertThat(primary).isCancelled();
+    }
+
+    private CompletableFuture<ResponseEntity<?>> failTimes(int failures) {
+        if (calls.incrementAndGet() <= failures) {
+            return CompletableFuture.failedFuture(new ResourceAccessException("Connection refused"));
+        }
+        return CompletableFuture.completedFuture(ResponseEntity.ok("item"));
+    }
+
+    private double count(String name, String outcome) {
+        return meterRegistry.counter(name, "client", CLIENT, "route", ROUTE, "outcome", outcome).count();
+    }
+
+    /**
+     * Исход считается уже после того, как результат отдан вызывающему, поэтому счётчик догоняет join().
+     */
+    private double awaitCount(String name, String outcome, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (count(name, outcome) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return count(name, outcome);
+    }
+
+    private static URI item(long id) {
+        return URI.create("http://server:9090/items/" + id);
+    }
+
+    private static ResponseEntity<?> join(CompletableFuture<ResponseEntity<?>> result) {
+        return result.orTimeout(5, TimeUnit.SECONDS).join();
+    }
+}
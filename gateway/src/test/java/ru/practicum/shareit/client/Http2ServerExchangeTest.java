@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.bench.StubServer;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Http2ServerExchangeTest {
+    final ShareItServerProperties properties = new ShareItServerProperties();
+    CloseableHttpAsyncClient client;
+    StubServer server;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void keepsH2cWhenServerSupportsIt() throws Exception {
+        server = new StubServer(Duration.ZERO, 0, true);
+        Http2ServerExchange exchange = exchange(server.url());
+
+        exchange.probe();
+        await(() -> server.requests() == 1);
+
+        assertThat(exchange.isAvailable()).isTrue();
+        assertThat(exchange.exchange(URI.create(server.url() + "/users/1"), HttpMethod.GET, new HttpHeaders(), null)
+                .join().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void fallsBackWhenServerDoesNotSpeakH2c() throws Exception {
+        server = new StubServer(Duration.ZERO, 0, false);
+        Http2ServerExchange exchange = exchange(server.url());
+
+        exchange.probe();
+        await(() -> !exchange.isAvailable());
+    }
+
+    @Test
+    void keepsProbingWhileServerIsDown() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Http2ServerExchange exchange = exchange("http://localhost:" + port);
+
+        exchange.probe();
+        Thread.sleep(300);
+        assertThat(exchange.isAvailable()).isTrue();
+
+        server = new StubServer(Duration.ZERO, port, true);
+        await(() -> server.requests() > 0);
+        assertThat(exchange.isAvailable()).isTrue();
+    }
+
+    private Http2ServerExchange exchange(String url) {
+        properties.setUrl(url);
+        properties.getHttp2().setProbeTimeout(Duration.ofSeconds(2));
+        properties.getHttp2().setProbeBackoff(Duration.ofMillis(50));
+        properties.getHttp2().setMaxProbeBackoff(Duration.ofMillis(200));
+        client = new HttpClientConfig().shareItServerH2Client(properties);
+        return new Http2ServerExchange(properties, client, new ObjectMapper());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("условие не выполнено за 10 секунд").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+    static final URI ITEM = URI.create("http://server:9090/items/1");
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final ShareItServerProperties properties = new ShareItServerProperties();
+    final AtomicInteger calls = new AtomicInteger();
+    final CompletableFuture<ResponseEntity<?>> upstream = new CompletableFuture<>();
+
+    @Test
+    void joinsConcurrentIdenticalRequests() {
+        RequestCoalescer coalescer = new RequestCoalescer(properties, meterRegistry);
+
+        CompletableFuture<ResponseEntity<?>> first = coalescer.execute(ITEM, 1L, this::call);
+        CompletableFuture<ResponseEntity<?>> second = coalescer.execute(ITEM, 1L, this::call);
+        upstream.complete(ResponseEntity.ok("item"));
+
+        assertThat(calls).hasValue(1);
+        assertThat(first.join().getBody()).isEqualTo("item");
+        assertThat(second.join()).isSameAs(first.join());
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("joined")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotJoinRequestsOfDifferentUsers() {
+        RequestCoalescer coalescer = new RequestCoalescer(properties, meterRegistry);
+
+        coalescer.execute(ITEM, 1L, this::call);
+        coalescer.execute(ITEM, 2L, this::call);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void startsNewCallAfterLeaderCompletes() {
+        RequestCoalescer coalescer = new RequestCoalescer(properties, meterRegistry);
+
+        coalescer.execute(ITEM, 1L, this::call);
+        upstream.complete(ResponseEntity.ok("item"));
+        coalescer.execute(ITEM, 1L, this::call);
+
+        assertThat(calls).hasValue(2);
+        assertThat(count("joined")).isZero();
+    }
+
+    @Test
+    void propagatesFailureToJoinedRequestsAndForgetsIt() {
+        RequestCoalescer coalescer = new RequestCoalescer(properties, meterRegistry);
+
+        CompletableFuture<ResponseEntity<?>> first = coalescer.execute(ITEM, 1L, this::call);
+        CompletableFuture<ResponseEntity<?>> second = coalescer.execute(ITEM, 1L, this::call);
+        upstream.completeExceptionally(new IllegalStateException("сервер недоступен"));
+
+        assertThatThrownBy(first::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(IllegalStateException.class);
+
+        coalescer.execute(ITEM, 1L, this::call);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void forgetsLeaderWhenCallThrows() {
+        RequestCoalescer coalescer = new RequestCoalescer(properties, meterRegistry);
+
+        CompletableFuture<ResponseEntity<?>> failed = coalescer.execute(ITEM, 1L, () -> {
+            throw new IllegalStateException("пул соединений исчерпан");
+        });
+        coalescer.execute(ITEM, 1L, this::call);
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void bypassesRoutesOutsideConfiguration() {
+        RequestCoalescer coalescer = new RequestCoalescer(properties, meterRegistry);
+        URI bookings = URI.create("http://server:9090/bookings");
+
+        coalescer.execute(bookings, 1L, this::call);
+        coalescer.execute(bookings, 1L, this::call);
+
+        assertThat(calls).hasValue(2);
+        assertThat(count("leader")).isZero();
+    }
+
+    @Test
+    void bypassesAllRoutesWhenDisabled() {
+        properties.getCoalescing().setEnabled(false);
+        RequestCoalescer coalescer = new RequestCoalescer(properties, meterRegistry);
+
+        coalescer.execute(ITEM, 1L, this::call);
+        coalescer.execute(ITEM, 1L, this::call);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private CompletableFuture<ResponseEntity<?>> call() {
+        calls.incrementAndGet();
+        return upstream;
+    }
+
+    private double count(String role) {
+        return meterRegistry.counter("gateway.coalescing.requests", "role", role).count();
+    }
+}
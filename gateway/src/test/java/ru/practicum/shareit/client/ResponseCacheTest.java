@@ -0,0 +1,171 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+    static final URI ITEM = URI.create("http://server:9090/items/1");
+    static final String ETAG = "\"0a1b\"";
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void cachesOnlyConfiguredRoutes() {
+        ResponseCache cache = cache(Duration.ofSeconds(5));
+
+        assertThat(cache.isCacheable(ITEM)).isTrue();
+        assertThat(cache.isCacheable(URI.create("http://server:9090/requests/all"))).isTrue();
+        assertThat(cache.isCacheable(URI.create("http://server:9090/bookings"))).isFalse();
+        assertThat(cache.isCacheable(URI.create("http://server:9090/items/1/comment"))).isFalse();
+    }
+
+    @Test
+    void keysEntriesByUser() {
+        ResponseCache cache = cache(Duration.ofSeconds(5));
+
+        assertThat(cache.key(ITEM, 1L)).isNotEqualTo(cache.key(ITEM, 2L));
+    }
+
+    @Test
+    void servesFreshEntryWithoutRevalidation() {
+        ResponseCache cache = cache(Duration.ofSeconds(5));
+        ResponseCache.Key key = cache.key(ITEM, 1L);
+
+        cache.update(key, null, ok("item"), cache.generation());
+        ResponseCache.CachedResponse cached = cache.get(key);
+
+        assertThat(cached).isNotNull();
+        assertThat(cached.etag()).isEqualTo(ETAG);
+        assertThat(cache.isFresh(cached)).isTrue();
+        assertThat(cache.fresh(cached).getBody()).isEqualTo("item");
+        assertThat(meterRegistry.counter("gateway.cache.requests", "result", "fresh").count()).isEqualTo(1);
+    }
+
+    @Test
+    void revalidatesStaleEntryWithNotModified() {
+        ResponseCache cache = cache(Duration.ZERO);
+        ResponseCache.Key key = cache.key(ITEM, 1L);
+        cache.update(key, null, ok("item"), cache.generation());
+        ResponseCache.CachedResponse cached = cache.get(key);
+
+        assertThat(cache.isFresh(cached)).isFalse();
+        ResponseEntity<?> response = cache.update(key, cached,
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build(), cache.generation());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("item");
+        assertThat(meterRegistry.counter("gateway.cache.requests", "result", "revalidated").count()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsEntryWhenServerAnswersWithError() {
+        ResponseCache cache = cache(Duration.ZERO);
+        ResponseCache.Key key = cache.key(ITEM, 1L);
+        cache.update(key, null, ok("item"), cache.generation());
+
+        cache.update(key, cache.get(key), ResponseEntity.status(HttpStatus.NOT_FOUND).build(), cache.generation());
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void doesNotStoreResponsesWithoutEtag() {
+        ResponseCache cache = cache(Duration.ofSeconds(5));
+        ResponseCache.Key key = cache.key(ITEM, 1L);
+
+        cache.update(key, null, ResponseEntity.ok("item"), cache.generation());
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void itemWriteInvalidatesOnlyThatItemSearchAndRequests() {
+        ResponseCache cache = cache(Duration.ofSeconds(5));
+        ResponseCache.Key item = cached(cache, ITEM, 2L);
+        ResponseCache.Key otherItem = cached(cache, URI.create("http://server:9090/items/2"), 2L);
+        ResponseCache.Key search = cached(cache, URI.create("http://server:9090/items/search?text=drill"), 2L);
+        ResponseCache.Key request = cached(cache, URI.create("http://server:9090/requests/7"), 3L);
+
+        cache.invalidateAfterWrite(ITEM, 1L);
+
+        assertThat(cache.get(item)).isNull();
+        assertThat(cache.get(search)).isNull();
+        assertThat(cache.get(request)).isNull();
+        assertThat(cache.get(otherItem)).isNotNull();
+    }
+
+    @Test
+    void commentInvalidatesOnlyItsItem() {
+        ResponseCache cache = cache(Duration.ofSeconds(5));
+        ResponseCache.Key item = cached(cache, ITEM, 2L);
+        ResponseCache.Key search = cached(cache, URI.create("http://server:9090/items/search?text=drill"), 2L);
+
+        cache.invalidateAfterWrite(URI.create("http://server:9090/items/1/comment"), 3L);
+
+        assertThat(cache.get(item)).isNull();
+        assertThat(cache.get(search)).isNotNull();
+    }
+
+    @Test
+    void bookingApprovalInvalidatesOnlyOwnerItems() {
+        ResponseCache cache = cache(Duration.ofSeconds(5));
+        ResponseCache.Key ownerView = cached(cache, ITEM, 1L);
+        ResponseCache.Key otherView = cached(cache, ITEM, 2L);
+        ResponseCache.Key request = cached(cache, URI.create("http://server:9090/requests/7"), 1L);
+
+        cache.invalidateAfterWrite(URI.create("http://server:9090/bookings/5?approved=true"), 1L);
+        cache.invalidateAfterWrite(URI.create("http://server:9090/bookings"), 2L);
+
+        assertThat(cache.get(ownerView)).isNull();
+        assertThat(cache.get(otherView)).isNotNull();
+        assertThat(cache.get(request)).isNotNull();
+    }
+
+    @Test
+    void userWriteInvalidatesEverything() {
+        ResponseCache cache = cache(Duration.ofSeconds(5));
+        ResponseCache.Key item = cached(cache, ITEM, 2L);
+        ResponseCache.Key request = cached(cache, URI.create("http://server:9090/requests"), 2L);
+
+        cache.invalidateAfterWrite(URI.create("http://server:9090/users/1"), null);
+
+        assertThat(cache.get(item)).isNull();
+        assertThat(cache.get(request)).isNull();
+    }
+
+    @Test
+    void responseReadBeforeInvalidationIsNotStored() {
+        ResponseCache cache = cache(Duration.ofSeconds(5));
+        ResponseCache.Key key = cache.key(ITEM, 1L);
+        long generation = cache.generation();
+
+        cache.invalidateAfterWrite(URI.create("http://server:9090/items/1/comment"), 2L);
+        ResponseEntity<?> response = cache.update(key, null, ok("old item"), generation);
+
+        assertThat(response.getBody()).isEqualTo("old item");
+        assertThat(cache.get(key)).isNull();
+    }
+
+    private ResponseCache cache(Duration freshFor) {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.getCache().setFreshFor(freshFor);
+        return new ResponseCache(properties, meterRegistry);
+    }
+
+    private static ResponseCache.Key cached(ResponseCache cache, URI uri, Long userId) {
+        ResponseCache.Key key = cache.key(uri, userId);
+        cache.update(key, null, ok("body"), cache.generation());
+        return key;
+    }
+
+    private static ResponseEntity<?> ok(String body) {
+        return ResponseEntity.ok().eTag(ETAG).body(body);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+    @Test
+    void startsFullAndRunsOutAfterCapacityWithdrawals() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void earnsOneRetryPerRatioOfRequests() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        budget.tryWithdraw();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isFalse();
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void doesNotAccumulateBeyondCapacity() {
+        RetryBudget budget = new RetryBudget(1, 1);
+
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+}
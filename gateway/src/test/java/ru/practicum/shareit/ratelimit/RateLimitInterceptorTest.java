@@ -0,0 +1,77 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.exception.ErrorHandler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RateLimitInterceptorTest {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    final RateLimitProperties properties = new RateLimitProperties();
+    MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        properties.setDefaults(TokenBucketTest.limit(1, 0.4));
+        RateLimiter rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry(), clock::get);
+        mvc = MockMvcBuilders.standaloneSetup(new PingController())
+                .setControllerAdvice(new ErrorHandler())
+                .addInterceptors(new RateLimitInterceptor(properties, rateLimiter))
+                .build();
+    }
+
+    @Test
+    void rejectsWithRetryAfterInWholeSeconds() throws Exception {
+        mvc.perform(get("/ping").header(USER_ID_HEADER, "1"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/ping").header(USER_ID_HEADER, "1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+                .andExpect(jsonPath("$.error").value("Слишком много запросов"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2_500));
+        mvc.perform(get("/ping").header(USER_ID_HEADER, "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void skipsRequestsWithoutUser() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get("/ping")).andExpect(status().isOk());
+            mvc.perform(get("/ping").header(USER_ID_HEADER, "x")).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void skipsAllRequestsWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get("/ping").header(USER_ID_HEADER, "1")).andExpect(status().isOk());
+        }
+    }
+
+    @RestController
+    static class PingController {
+        @GetMapping("/ping")
+        String ping() {
+            return "pong";
+        }
+    }
+}
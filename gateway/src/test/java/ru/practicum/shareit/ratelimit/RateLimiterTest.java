@@ -0,0 +1,81 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    final RateLimitProperties properties = new RateLimitProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setDefaults(TokenBucketTest.limit(2, 1));
+        RateLimitProperties.Group search = new RateLimitProperties.Group();
+        search.setCapacity(1);
+        search.setRefillPerSecond(1);
+        search.setRoutes(List.of("/items/search"));
+        properties.getGroups().put("search", search);
+    }
+
+    @Test
+    void limitsEachUserSeparately() {
+        RateLimiter rateLimiter = rateLimiter();
+
+        assertThat(rateLimiter.tryAcquire(1, "/items/1")).isZero();
+        assertThat(rateLimiter.tryAcquire(1, "/items/1")).isZero();
+        assertThat(rateLimiter.tryAcquire(1, "/items/1")).isEqualTo(Duration.ofSeconds(1));
+        assertThat(rateLimiter.tryAcquire(2, "/items/1")).isZero();
+    }
+
+    @Test
+    void usesGroupLimitForMatchingRoutes() {
+        RateLimiter rateLimiter = rateLimiter();
+
+        assertThat(rateLimiter.tryAcquire(1, "/items/search")).isZero();
+        assertThat(rateLimiter.tryAcquire(1, "/items/search")).isPositive();
+        assertThat(rateLimiter.tryAcquire(1, "/items/1")).isZero();
+        assertThat(meterRegistry.counter("gateway.rate-limit.requests", "group", "search", "result", "rejected")
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("gateway.rate-limit.requests", "group", "default", "result", "allowed")
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsIdleBuckets() {
+        properties.setIdleEvictAfter(Duration.ofMinutes(10));
+        RateLimiter rateLimiter = rateLimiter();
+        rateLimiter.tryAcquire(1, "/items/1");
+        rateLimiter.tryAcquire(2, "/items/1");
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        rateLimiter.tryAcquire(2, "/items/1");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(6));
+
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void boundsNumberOfTrackedKeys() {
+        properties.setMaxKeys(100);
+        RateLimiter rateLimiter = rateLimiter();
+
+        for (long userId = 0; userId < 1000; userId++) {
+            rateLimiter.tryAcquire(userId, "/items/1");
+        }
+
+        assertThat(rateLimiter.trackedKeys()).isLessThanOrEqualTo(100);
+    }
+
+    private RateLimiter rateLimiter() {
+        return new RateLimiter(properties, meterRegistry, clock::get);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+    static final long START = TimeUnit.HOURS.toNanos(1);
+    static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(limit(5, 10), START);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(START)).isZero();
+        }
+        assertThat(bucket.tryAcquire(START)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(limit(2, 10), START);
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+
+        assertThat(bucket.tryAcquire(START + INTERVAL / 4)).isEqualTo(INTERVAL * 3 / 4);
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void rejectedAttemptsDoNotConsumeTokens() {
+        TokenBucket bucket = new TokenBucket(limit(1, 10), START);
+        bucket.tryAcquire(START);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(bucket.tryAcquire(START)).isPositive();
+        }
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isZero();
+    }
+
+    @Test
+    void idleTimeRefillsNoMoreThanCapacity() {
+        TokenBucket bucket = new TokenBucket(limit(3, 10), START);
+        long later = START + TimeUnit.MINUTES.toNanos(10);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void sustainsRefillRate() {
+        TokenBucket bucket = new TokenBucket(limit(1, 10), START);
+        long now = START;
+        int allowed = 0;
+        for (int i = 0; i < 1000; i++) {
+            now += INTERVAL / 4;
+            if (bucket.tryAcquire(now) == 0) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(250);
+    }
+
+    static RateLimitProperties.Limit limit(int capacity, double refillPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setRefillPerSecond(refillPerSecond);
+        return limit;
+    }
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.bulk.BulkResult;
+import ru.practicum.shareit.bulk.BulkWriter;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.List;
 
@@ -14,6 +18,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final BulkWriter bulkWriter;
 
     @PostMapping
     public BookingDto addBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -21,6 +26,12 @@ public class BookingController {
         return bookingService.create(userId, bookingDto);
     }
 
+    @PostMapping("/bulk")
+    public List<BulkResult> addBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                        @RequestBody List<NewBookingDto> bookingDtos) {
+        return bulkWriter.createAll(bookingDtos, chunk -> bookingService.createAll(userId, chunk));
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto updateBookingStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @PathVariable("bookingId") Long bookingId,
@@ -35,14 +46,34 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getBookingsByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @RequestParam BookingState state) {
-        return bookingService.findAllByBookerId(userId, state);
+    public ResponseEntity<List<BookingDto>> getBookingsByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                              @RequestParam BookingState state,
+                                                              @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                              @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                              @RequestParam(name = "cursor", required = false) String cursor) {
+        List<BookingDto> bookings = cursor != null
+                ? bookingService.findPageByBookerId(userId, state, PageCursor.decode(cursor), size)
+                : bookingService.findAllByBookerId(userId, state, from, size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @RequestParam BookingState state) {
-        return bookingService.findAllByOwnerId(userId, state);
+    public ResponseEntity<List<BookingDto>> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam BookingState state,
+                                                               @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                               @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                               @RequestParam(name = "cursor", required = false) String cursor) {
+        List<BookingDto> bookings = cursor != null
+                ? bookingService.findPageByOwnerId(userId, state, PageCursor.decode(cursor), size)
+                : bookingService.findAllByOwnerId(userId, state, from, size);
+        return withNextCursor(bookings, size);
+    }
+
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() >= Math.min(size, BookingService.MAX_PAGE_SIZE)) {
+            response.header(PageCursor.NEXT_CURSOR_HEADER, BookingMapper.mapToCursor(bookings.getLast()).encode());
+        }
+        return response.body(bookings);
     }
-}
\ No newline at end of file
+}
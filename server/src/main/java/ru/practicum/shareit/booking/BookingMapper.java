@@ -6,6 +6,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -27,4 +28,8 @@ public class BookingMapper {
                 .status(booking.getStatus())
                 .build();
     }
+
+    public static PageCursor mapToCursor(BookingDto booking) {
+        return new PageCursor(booking.getStart(), booking.getId());
+    }
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingPageRepository {
+    /**
+     * Брони страницы по смещению вместе с вещью и арендатором. В отличие от {@code findAll(spec, pageable)}
+     * не считает COUNT(*) по всем подходящим броням: общее число клиенту не возвращается.
+     */
+    List<Booking> findPage(Specification<Booking> spec, Pageable page);
+}
@@ -1,45 +1,43 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findAllByBookerId(Long bookerId, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(Long bookerId,
-                                                                               LocalDateTime start,
-                                                                               LocalDateTime end,
-                                                                               Sort sort);
-
-    List<Booking> findAllByBookerIdAndStartAfter(Long bookerId, LocalDateTime start, Sort sort);
-
-    List<Booking> findAllByBookerIdAndEndBefore(Long bookerId, LocalDateTime end, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStatusIn(Long ownerId, List<BookingStatus> statuses, Sort sort);
-
-    List<Booking> findAllByItemOwnerId(Long ownerId, Sort sort);
-
-    List<Booking> findAllByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Sort sort);
-
-    List<Booking> findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqual(Long ownerId,
-                                                                                  LocalDateTime start,
-                                                                                  LocalDateTime end,
-                                                                                  Sort sort);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfter(Long ownerId, LocalDateTime start, Sort sort);
-
-    List<Booking> findAllByItemOwnerIdAndEndBefore(Long ownerId, LocalDateTime end, Sort sort);
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingPageRepository {
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
     List<Booking> findAllByItemId(Long itemId, Sort sort);
 
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.start = (SELECT MAX(b2.start) FROM Booking b2 " +
+            "WHERE b2.item = b.item AND b2.status = :status AND b2.start <= :now)")
+    List<Booking> findLastByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                     @Param("status") BookingStatus status,
+                                     @Param("now") LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.start = (SELECT MIN(b2.start) FROM Booking b2 " +
+            "WHERE b2.item = b.item AND b2.status = :status AND b2.start > :now)")
+    List<Booking> findNextByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                     @Param("status") BookingStatus status,
+                                     @Param("now") LocalDateTime now);
+
     Booking findFirstByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long bookerId, BookingStatus status, LocalDateTime end);
 
     List<Booking> findAllByItemIdAndBookerIdAndEndBeforeAndStatus(Long itemId, Long userId, LocalDateTime now, BookingStatus bookingStatus);
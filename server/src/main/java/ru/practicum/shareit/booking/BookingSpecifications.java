@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingSpecifications {
+    public static Specification<Booking> bookerId(Long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> itemOwnerId(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("item").get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        return (root, query, cb) -> switch (state) {
+            case CURRENT -> cb.and(cb.lessThanOrEqualTo(root.get("start"), now),
+                    cb.greaterThanOrEqualTo(root.get("end"), now));
+            case PAST -> cb.lessThan(root.get("end"), now);
+            case FUTURE -> cb.greaterThan(root.get("start"), now);
+            case WAITING -> cb.equal(root.get("status"), BookingStatus.WAITING);
+            case REJECTED -> root.get("status").in(List.of(BookingStatus.REJECTED, BookingStatus.CANCELED));
+            default -> cb.conjunction();
+        };
+    }
+
+    /**
+     * Строки строго после курсора при сортировке по (start, id) по убыванию.
+     * Условие start <= position вынесено отдельно: по нему индекс (..., start_date DESC, id DESC)
+     * сразу встаёт на курсор, а OR лишь отсекает строки с тем же start и большим id.
+     */
+    public static Specification<Booking> after(PageCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("start"), cursor.position()),
+                cb.or(cb.lessThan(root.get("start"), cursor.position()), cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
@@ -1,19 +1,30 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.bulk.BulkResult;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.List;
 
 public interface BookingService {
+    int MAX_PAGE_SIZE = 100;
+
     BookingDto create(Long userId, NewBookingDto bookingDto);
 
+    List<BulkResult> createAll(Long userId, List<NewBookingDto> bookingDtos);
+
     BookingDto updateStatus(Long userId, Long bookingId, Boolean approved);
 
     BookingDto findById(Long userId, Long bookingId);
 
-    List<BookingDto> findAllByBookerId(Long userId, BookingState state);
+    List<BookingDto> findAllByBookerId(Long userId, BookingState state, Integer from, Integer size);
+
+    List<BookingDto> findAllByOwnerId(Long userId, BookingState state, Integer from, Integer size);
+
+    List<BookingDto> findPageByBookerId(Long userId, BookingState state, @Nullable PageCursor cursor, Integer size);
 
-    List<BookingDto> findAllByOwnerId(Long userId, BookingState state);
+    List<BookingDto> findPageByOwnerId(Long userId, BookingState state, @Nullable PageCursor cursor, Integer size);
 }
@@ -3,27 +3,37 @@ package ru.practicum.shareit.booking.service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingSpecifications;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.bulk.BulkResult;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -34,7 +44,7 @@ public class BookingServiceImpl implements BookingService {
     UserService userService;
     ItemRepository itemRepository;
 
-    static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start");
+    static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start", "id");
 
     @Transactional
     @Override
@@ -42,6 +52,33 @@ public class BookingServiceImpl implements BookingService {
         validateDate(bookingDto);
         User user = userService.validateExistenceById(userId);
         Item item = validateItemExistence(bookingDto.getItemId());
+        return BookingMapper.mapToBookingDto(save(user, item, bookingDto));
+    }
+
+    @Transactional
+    @Override
+    public List<BulkResult> createAll(Long userId, List<NewBookingDto> bookingDtos) {
+        BulkResult.checkBatchSize(bookingDtos);
+        User user = userService.validateExistenceById(userId);
+        Map<Long, Item> items = itemRepository.findAllById(bookingDtos.stream()
+                        .map(NewBookingDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return bookingDtos.stream()
+                .map(bookingDto -> BulkResult.attempt(() -> {
+                    validateDate(bookingDto);
+                    Item item = items.get(bookingDto.getItemId());
+                    if (item == null) {
+                        throw new NotFoundException("Вещь с id = " + bookingDto.getItemId() + " не найдена");
+                    }
+                    return BookingMapper.mapToBookingDto(save(user, item, bookingDto));
+                }))
+                .toList();
+    }
+
+    private Booking save(User user, Item item, NewBookingDto bookingDto) {
         if (!item.getAvailable()) {
             throw new ValidationException("Вещь с id = " + item.getId() + " недоступна для бронирования");
         }
@@ -49,7 +86,7 @@ public class BookingServiceImpl implements BookingService {
         booking.setItem(item);
         booking.setBooker(user);
         booking.setStatus(BookingStatus.WAITING);
-        return BookingMapper.mapToBookingDto(bookingRepository.save(booking));
+        return bookingRepository.save(booking);
     }
 
     @Transactional
@@ -71,54 +108,57 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> findAllByBookerId(Long userId, BookingState state) {
+    public List<BookingDto> findAllByBookerId(Long userId, BookingState state, Integer from, Integer size) {
         userService.validateExistenceById(userId);
-        LocalDateTime now = LocalDateTime.now();
-
-        List<Booking> bookings = switch (state) {
-            case ALL -> bookings = bookingRepository.findAllByBookerId(userId, SORT_BY_START_DESC);
-            case CURRENT -> bookings = bookingRepository.findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(
-                    userId, now, now, SORT_BY_START_DESC);
-            case PAST -> bookings = bookingRepository.findAllByBookerIdAndEndBefore(userId, now, SORT_BY_START_DESC);
-            case FUTURE -> bookings = bookingRepository.findAllByBookerIdAndStartAfter(userId, now, SORT_BY_START_DESC);
-            case REJECTED -> bookings = bookingRepository.findAllByBookerIdAndStatusIn(userId,
-                    List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), SORT_BY_START_DESC);
-            case WAITING ->
-                    bookings = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING, SORT_BY_START_DESC);
-            default -> new ArrayList<>();
-        };
-        return bookings.stream()
-                .map(BookingMapper::mapToBookingDto)
-                .toList();
+        return findAll(BookingSpecifications.bookerId(userId), state, page(from, size));
     }
 
     @Override
-    public List<BookingDto> findAllByOwnerId(Long userId, BookingState state) {
+    public List<BookingDto> findAllByOwnerId(Long userId, BookingState state, Integer from, Integer size) {
         userService.validateExistenceById(userId);
+        Pageable page = page(from, size);
+
+        if (!itemRepository.existsByOwnerId(userId)) {
+            throw new ValidationException("У пользователя нет ни одной вещи");
+        }
+        return findAll(BookingSpecifications.itemOwnerId(userId), state, page);
+    }
 
-        List<Item> userItems = itemRepository.findAllByOwnerIdOrderByIdAsc(userId);
+    @Override
+    public List<BookingDto> findPageByBookerId(Long userId, BookingState state, @Nullable PageCursor cursor,
+                                               Integer size) {
+        userService.validateExistenceById(userId);
+        return findPage(BookingSpecifications.bookerId(userId), state, cursor, size);
+    }
 
-        if (userItems.isEmpty()) {
+    @Override
+    public List<BookingDto> findPageByOwnerId(Long userId, BookingState state, @Nullable PageCursor cursor,
+                                              Integer size) {
+        userService.validateExistenceById(userId);
+        if (!itemRepository.existsByOwnerId(userId)) {
             throw new ValidationException("У пользователя нет ни одной вещи");
         }
-        LocalDateTime now = LocalDateTime.now();
-
-        List<Booking> bookings = switch (state) {
-            case ALL -> bookings = bookingRepository.findAllByItemOwnerId(userId, SORT_BY_START_DESC);
-            case WAITING -> bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.WAITING,
-                    SORT_BY_START_DESC);
-            case REJECTED -> bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED,
-                    SORT_BY_START_DESC);
-            case PAST -> bookings = bookingRepository.findAllByItemOwnerIdAndEndBefore(userId, now, SORT_BY_START_DESC);
-            case CURRENT ->
-                    bookings = bookingRepository.findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqual(userId,
-                            now, now, SORT_BY_START_DESC);
-            case FUTURE ->
-                    bookings = bookingRepository.findAllByItemOwnerIdAndStartAfter(userId, now, SORT_BY_START_DESC);
-            default -> new ArrayList<>();
-        };
-
-        return bookings.stream()
+        return findPage(BookingSpecifications.itemOwnerId(userId), state, cursor, size);
+    }
+
+    private List<BookingDto> findAll(Specification<Booking> scope, BookingState state, Pageable page) {
+        Specification<Booking> spec = scope.and(BookingSpecifications.inState(state, LocalDateTime.now()));
+        return bookingRepository.findPage(spec, page)
+                .stream()
+                .map(BookingMapper::mapToBookingDto)
+                .toList();
+    }
+
+    private List<BookingDto> findPage(Specification<Booking> scope, BookingState state, @Nullable PageCursor cursor,
+                                      Integer size) {
+        int limit = pageSize(size);
+        Specification<Booking> spec = scope.and(BookingSpecifications.inState(state, LocalDateTime.now()));
+        if (cursor != null) {
+            spec = spec.and(BookingSpecifications.after(cursor));
+        }
+        return bookingRepository.findBy(spec, query -> query.project("item", "booker")
+                        .sortBy(SORT_BY_START_DESC).limit(limit).all())
+                .stream()
                 .map(BookingMapper::mapToBookingDto)
                 .toList();
     }
@@ -139,6 +179,21 @@ public class BookingServiceImpl implements BookingService {
         return booking;
     }
 
+    private Pageable page(Integer from, Integer size) {
+        if (from < 0) {
+            throw new ValidationException("Неверные параметры пагинации");
+        }
+        int pageSize = pageSize(size);
+        return OffsetPageRequest.of(from, pageSize, SORT_BY_START_DESC);
+    }
+
+    private int pageSize(Integer size) {
+        if (size <= 0) {
+            throw new ValidationException("Неверные параметры пагинации");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
     private void validateDate(NewBookingDto bookingDto) {
         if (bookingDto.getStart().isAfter(bookingDto.getEnd())) {
             throw new ValidationException("Неверные даты бронирования");
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.bulk;
+
+import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.DuplicatedDataException;
+import ru.practicum.shareit.exception.ErrorHandler.ExceptionResponse;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Результат создания одной записи пакета: статус и тело такие же, какие вернул бы одиночный запрос.
+ */
+public record BulkResult(int status, Object body) {
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public static void checkBatchSize(List<?> records) {
+        if (records.isEmpty() || records.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Размер пакета должен быть от 1 до " + MAX_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Ошибки предметной области превращаются в результат записи и не прерывают пакет.
+     * Остальные исключения откатывают всю транзакцию пакета.
+     */
+    public static BulkResult attempt(Supplier<?> creation) {
+        try {
+            return new BulkResult(201, creation.get());
+        } catch (NotFoundException e) {
+            return new BulkResult(404, new ExceptionResponse("Запрашиваемый ресурс не найден", e.getMessage()));
+        } catch (ValidationException e) {
+            return new BulkResult(400, new ExceptionResponse("Ошибка валидации", e.getMessage()));
+        } catch (DuplicatedDataException e) {
+            return new BulkResult(409, new ExceptionResponse("Данные уже существуют", e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return new BulkResult(403, new ExceptionResponse("Доступ запрещен", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.bulk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ErrorHandler.ExceptionResponse;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Пакет создаётся одной транзакцией сервиса. Если база отвергает её при flush или фиксации
+ * (например, тот же email параллельно вставил другой запрос), записи пакета создаются заново по одной,
+ * каждая в своей транзакции: нарушение ограничения становится результатом только своей записи.
+ * Вызывается вне транзакции, иначе сервис присоединится к ней и повтор ничего не изолирует.
+ */
+@Slf4j
+@Component
+public class BulkWriter {
+    public <T> List<BulkResult> createAll(List<T> records, Function<List<T>, List<BulkResult>> creation) {
+        try {
+            return creation.apply(records);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Пакет из {} записей отклонён базой, записи создаются по одной: {}", records.size(),
+                    e.getMostSpecificCause().getMessage());
+            return records.stream()
+                    .map(record -> createOne(record, creation))
+                    .toList();
+        }
+    }
+
+    private <T> BulkResult createOne(T record, Function<List<T>, List<BulkResult>> creation) {
+        try {
+            return creation.apply(List.of(record)).getFirst();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Запись пакета отклонена базой: {}", e.getMostSpecificCause().getMessage());
+            return new BulkResult(409, new ExceptionResponse("Нарушение целостности данных",
+                    "Запись нарушает ограничение базы данных"));
+        }
+    }
+}
@@ -4,9 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.compression.DecodedBodyTooLargeException;
 
 @RestControllerAdvice
 public class ErrorHandler {
@@ -28,6 +31,22 @@ public class ErrorHandler {
         return new ExceptionResponse("Данные уже существуют", e.getMessage());
     }
 
+    @ExceptionHandler(DecodedBodyTooLargeException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ExceptionResponse handleDecodedBodyTooLargeException(DecodedBodyTooLargeException e) {
+        return new ExceptionResponse("Слишком большой запрос", e.getMessage());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ExceptionResponse> handleHttpMessageNotReadableException(
+            HttpMessageNotReadableException e) {
+        if (e.getMostSpecificCause() instanceof DecodedBodyTooLargeException tooLarge) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(handleDecodedBodyTooLargeException(tooLarge));
+        }
+        return ResponseEntity.internalServerError().body(handleInternalAndGeneralExceptions(e));
+    }
+
     @ExceptionHandler({InternalServerErrorException.class, Exception.class})
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ExceptionResponse handleInternalAndGeneralExceptions(Exception e) {
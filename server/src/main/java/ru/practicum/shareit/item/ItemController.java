@@ -4,6 +4,8 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.bulk.BulkResult;
+import ru.practicum.shareit.bulk.BulkWriter;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
@@ -15,6 +17,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     ItemService itemService;
+    BulkWriter bulkWriter;
 
     @GetMapping
     public List<ItemDto> getOwnedItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
@@ -23,8 +26,10 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                     @RequestParam(value = "text", required = false) String text) {
-        return itemService.findItemsByText(userId, text);
+                                     @RequestParam(value = "text", required = false) String text,
+                                     @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                     @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        return itemService.findItemsByText(userId, text, from, size);
     }
 
     @GetMapping("/{itemId}")
@@ -38,6 +43,12 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping("/bulk")
+    public List<BulkResult> createItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                        @RequestBody List<NewItemDto> itemDtos) {
+        return bulkWriter.createAll(itemDtos, chunk -> itemService.createAll(userId, chunk));
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                               @PathVariable("itemId") Long itemId,
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+record IndexedItem(Long id, String name, String description, boolean available, Long requestId, Long ownerId,
+                   String normalizedName, String normalizedDescription) {
+
+    static IndexedItem of(Item item) {
+        String description = item.getDescription() != null ? item.getDescription() : "";
+        return new IndexedItem(item.getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()),
+                item.getRequest() != null ? item.getRequest().getId() : null,
+                item.getOwner() != null ? item.getOwner().getId() : null,
+                normalize(item.getName()), normalize(description));
+    }
+
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    boolean matches(String normalizedQuery) {
+        return normalizedName.contains(normalizedQuery) || normalizedDescription.contains(normalizedQuery);
+    }
+
+    ItemDto toItemDto() {
+        return ItemDto.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .comments(new ArrayList<>())
+                .requestId(requestId)
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по триграммам названий и описаний вещей.
+ * Даёт те же результаты, что и поиск подстроки без учёта регистра, но без обращения к базе.
+ * Изменения попадают в индекс после фиксации транзакции, поэтому поиск не видит незафиксированных данных.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemSearchIndex implements SmartInitializingSingleton {
+    static final int GRAM_LENGTH = 3;
+
+    ItemRepository itemRepository;
+
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+    TreeMap<Long, IndexedItem> items = new TreeMap<>();
+    Map<String, PostingList> postings = new HashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        List<IndexedItem> loaded = itemRepository.findAll().stream()
+                .map(IndexedItem::of)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            items.clear();
+            postings.clear();
+            loaded.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс построен: {} вещей, {} триграмм за {} мс", loaded.size(), postings.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public void index(Item item) {
+        IndexedItem indexed = IndexedItem.of(item);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                put(indexed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeOwner(Long ownerId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (IndexedItem item : List.copyOf(items.values())) {
+                    if (ownerId.equals(item.ownerId())) {
+                        remove(item.id());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Страница результатов, ранжированных по релевантности: сначала совпадения в названии,
+     * затем по числу вхождений запроса. В памяти держится не больше from + size кандидатов,
+     * оба ограничены в {@code ItemService}.
+     */
+    public List<ItemDto> search(String text, int from, int size) {
+        String query = IndexedItem.normalize(text);
+        TopHits hits = new TopHits(from + size);
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM_LENGTH) {
+                for (IndexedItem item : items.values()) {
+                    hits.offer(item, query);
+                }
+            } else {
+                collect(query, hits);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits.page(from).stream()
+                .map(SearchHit::item)
+                .map(IndexedItem::toItemDto)
+                .toList();
+    }
+
+    private void collect(String query, TopHits hits) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        PostingList smallest = lists.getFirst();
+        for (int i = 0; i < smallest.size(); i++) {
+            long id = smallest.get(i);
+            if (containedInAll(lists, id)) {
+                hits.offer(items.get(id), query);
+            }
+        }
+    }
+
+    private void put(IndexedItem item) {
+        remove(item.id());
+        items.put(item.id(), item);
+        for (String gram : grams(item)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(item.id());
+        }
+    }
+
+    private void remove(Long id) {
+        IndexedItem previous = items.remove(id);
+        if (previous != null) {
+            for (String gram : grams(previous)) {
+                PostingList list = postings.get(gram);
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Индекс меняется только после фиксации транзакции, как и кэш второго уровня в
+     * {@code UserServiceImpl.evictCascadedAfterCommit}: откатанные изменения в него не попадают.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static boolean containedInAll(List<PostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> grams(IndexedItem item) {
+        Set<String> grams = grams(item.normalizedName());
+        grams.addAll(grams(item.normalizedDescription()));
+        return grams;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
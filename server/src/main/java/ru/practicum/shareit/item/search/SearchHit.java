@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Comparator;
+
+record SearchHit(IndexedItem item, boolean inName, int frequency) {
+    static final Comparator<SearchHit> BY_RELEVANCE = Comparator.comparing(SearchHit::inName).reversed()
+            .thenComparing(Comparator.comparingInt(SearchHit::frequency).reversed())
+            .thenComparing(hit -> hit.item().id());
+
+    static SearchHit of(IndexedItem item, String normalizedQuery) {
+        return new SearchHit(item, item.normalizedName().contains(normalizedQuery),
+                occurrences(item.normalizedName(), normalizedQuery)
+                        + occurrences(item.normalizedDescription(), normalizedQuery));
+    }
+
+    private static int occurrences(String text, String query) {
+        int count = 0;
+        for (int i = text.indexOf(query); i >= 0; i = text.indexOf(query, i + query.length())) {
+            count++;
+        }
+        return count;
+    }
+}
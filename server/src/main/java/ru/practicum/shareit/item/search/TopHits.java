@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Отбор k самых релевантных совпадений: в куче лежит не больше k элементов, худший — в вершине.
+ */
+final class TopHits {
+    private final int limit;
+    private final PriorityQueue<SearchHit> heap;
+
+    TopHits(int limit) {
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(SearchHit.BY_RELEVANCE.reversed());
+    }
+
+    void offer(IndexedItem item, String normalizedQuery) {
+        if (!item.available() || !item.matches(normalizedQuery)) {
+            return;
+        }
+        SearchHit hit = SearchHit.of(item, normalizedQuery);
+        if (heap.size() < limit) {
+            heap.add(hit);
+        } else if (SearchHit.BY_RELEVANCE.compare(hit, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(hit);
+        }
+    }
+
+    List<SearchHit> page(int from) {
+        List<SearchHit> ranked = new ArrayList<>(heap);
+        ranked.sort(SearchHit.BY_RELEVANCE);
+        return from < ranked.size() ? ranked.subList(from, ranked.size()) : List.of();
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.service;
 
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.bulk.BulkResult;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 
@@ -8,16 +9,24 @@ import java.util.List;
 
 @Service
 public interface ItemService {
+    int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Поиск держит в памяти from + size лучших кандидатов, поэтому смещение ограничено.
+     */
+    int MAX_SEARCH_OFFSET = 1000;
 
     ItemDto create(Long userId, NewItemDto itemDto);
 
+    List<BulkResult> createAll(Long userId, List<NewItemDto> itemDtos);
+
     ItemDto update(Long userId, Long itemId, UpdateItemDto itemDto);
 
     ItemDto findById(Long userId, Long itemId);
 
     List<ItemDto> findItemsByOwner(Long userId);
 
-    List<ItemDto> findItemsByText(Long userId, String text);
+    List<ItemDto> findItemsByText(Long userId, String text, Integer from, Integer size);
 
     Item validateItem(Long itemId);
 
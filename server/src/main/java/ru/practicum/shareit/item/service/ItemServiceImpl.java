@@ -3,13 +3,13 @@ package ru.practicum.shareit.item.service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.bulk.BulkResult;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
@@ -19,6 +19,7 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.request.RequestRepository;
 import ru.practicum.shareit.user.User;
@@ -27,6 +28,10 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.item.mapper.ItemMapper.mapToItemDto;
 import static ru.practicum.shareit.item.mapper.ItemMapper.updateItem;
@@ -41,20 +46,52 @@ public class ItemServiceImpl implements ItemService {
     BookingRepository bookingRepository;
     CommentRepository commentRepository;
     RequestRepository requestRepository;
+    ItemSearchIndex itemSearchIndex;
 
     @Transactional
     @Override
     public ItemDto create(Long userId, NewItemDto itemDto) {
         User owner = userService.validateExistenceById(userId);
-        Item item = ItemMapper.mapToNewItem(itemDto);
-        item.setOwner(owner);
-
+        Request request = null;
         if (itemDto.getRequestId() != null) {
-            Request request = requestRepository.findById(itemDto.getRequestId())
+            request = requestRepository.findById(itemDto.getRequestId())
                     .orElseThrow(() -> new NotFoundException("Запрос не найден"));
-            item.setRequest(request);
         }
-        return mapToItemDto(itemRepository.save(item));
+        return mapToItemDto(save(owner, itemDto, request));
+    }
+
+    @Transactional
+    @Override
+    public List<BulkResult> createAll(Long userId, List<NewItemDto> itemDtos) {
+        BulkResult.checkBatchSize(itemDtos);
+        User owner = userService.validateExistenceById(userId);
+        Map<Long, Request> requests = requestRepository.findAllById(itemDtos.stream()
+                        .map(NewItemDto::getRequestId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
+        return itemDtos.stream()
+                .map(itemDto -> BulkResult.attempt(() -> {
+                    Request request = null;
+                    if (itemDto.getRequestId() != null) {
+                        request = requests.get(itemDto.getRequestId());
+                        if (request == null) {
+                            throw new NotFoundException("Запрос не найден");
+                        }
+                    }
+                    return mapToItemDto(save(owner, itemDto, request));
+                }))
+                .toList();
+    }
+
+    private Item save(User owner, NewItemDto itemDto, Request request) {
+        Item item = ItemMapper.mapToNewItem(itemDto);
+        item.setOwner(owner);
+        item.setRequest(request);
+        Item saved = itemRepository.save(item);
+        itemSearchIndex.index(saved);
+        return saved;
     }
 
     @Transactional
@@ -72,6 +109,7 @@ public class ItemServiceImpl implements ItemService {
         }
         updateItem(item, itemDto);
         item = itemRepository.save(item);
+        itemSearchIndex.index(item);
 
         return mapToItemDto(item);
     }
@@ -82,7 +120,7 @@ public class ItemServiceImpl implements ItemService {
         userService.validateExistenceById(userId);
 
         ItemDto itemDto = ItemMapper.mapToItemDto(item);
-        loadItemDetails(itemDto);
+        loadItemDetails(List.of(itemDto));
 
         return itemDto;
     }
@@ -92,25 +130,26 @@ public class ItemServiceImpl implements ItemService {
         userService.validateExistenceById(userId);
         List<ItemDto> ownedItemDtos = itemRepository.findAllByOwnerIdOrderByIdAsc(userId).stream()
                 .map(ItemMapper::mapToItemDto)
-                .map(itemDto -> {
-                    loadItemDetails(itemDto);
-                    return itemDto;
-                })
                 .toList();
+        loadItemDetails(ownedItemDtos);
 
         return ownedItemDtos;
     }
 
     @Override
-    public List<ItemDto> findItemsByText(Long userId, String text) {
+    public List<ItemDto> findItemsByText(Long userId, String text, Integer from, Integer size) {
         userService.validateExistenceById(userId);
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Неверные параметры пагинации");
+        }
+        if (from > MAX_SEARCH_OFFSET) {
+            throw new ValidationException(String.format("Смещение поиска не может превышать %d", MAX_SEARCH_OFFSET));
+        }
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
 
-        return itemRepository.findItemsByNameOrDescription(text).stream()
-                .map(ItemMapper::mapToItemDto)
-                .toList();
+        return itemSearchIndex.search(text, from, Math.min(size, MAX_PAGE_SIZE));
     }
 
     @Override
@@ -142,29 +181,33 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    @Transactional
-    private void loadItemDetails(ItemDto itemDto) {
-
-        List<Comment> comments = commentRepository.findAllByItemId(itemDto.getId());
-        itemDto.setComments(comments.stream().map(CommentMapper::mapToCommentDto).toList());
-
-        List<Booking> bookings = bookingRepository
-                .findAllByItemOwnerId(itemDto.getId(), Sort.by(Sort.Direction.DESC, "start"));
-
-        if (!bookings.isEmpty()) {
-            Booking onlyBooking = bookings.getFirst();
-            LocalDateTime now = LocalDateTime.now();
-
-            if (onlyBooking.getStart().isAfter(now)) {
-                itemDto.setNextBooking(BookingMapper.mapToBookingDto(onlyBooking));
-                itemDto.setLastBooking(null);
-            } else {
-                itemDto.setLastBooking(BookingMapper.mapToBookingDto(onlyBooking));
-                itemDto.setNextBooking(null);
-            }
-        } else {
-            itemDto.setNextBooking(null);
-            itemDto.setLastBooking(null);
+    private void loadItemDetails(List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty()) {
+            return;
+        }
+        List<Long> itemIds = itemDtos.stream().map(ItemDto::getId).toList();
+
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::mapToCommentDto, Collectors.toList())));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = byItemId(
+                bookingRepository.findLastByItemIdIn(itemIds, BookingStatus.APPROVED, now));
+        Map<Long, Booking> nextBookings = byItemId(
+                bookingRepository.findNextByItemIdIn(itemIds, BookingStatus.APPROVED, now));
+
+        for (ItemDto itemDto : itemDtos) {
+            itemDto.setComments(comments.getOrDefault(itemDto.getId(), List.of()));
+            Booking lastBooking = lastBookings.get(itemDto.getId());
+            Booking nextBooking = nextBookings.get(itemDto.getId());
+            itemDto.setLastBooking(lastBooking != null ? BookingMapper.mapToBookingDto(lastBooking) : null);
+            itemDto.setNextBooking(nextBooking != null ? BookingMapper.mapToBookingDto(nextBooking) : null);
         }
     }
+
+    private static Map<Long, Booking> byItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first.getId() < second.getId() ? first : second));
+    }
 }
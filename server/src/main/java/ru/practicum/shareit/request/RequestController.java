@@ -3,7 +3,9 @@ package ru.practicum.shareit.request;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.NewRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.service.RequestService;
@@ -29,10 +31,18 @@ public class RequestController {
     }
 
     @GetMapping("/all")
-    public List<RequestDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                           @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                           @RequestParam(name = "size", defaultValue = "50") Integer size) {
-        return requestService.findAll(userId, from, size);
+    public ResponseEntity<List<RequestDto>> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                           @RequestParam(name = "size", defaultValue = "50") Integer size,
+                                                           @RequestParam(name = "cursor", required = false) String cursor) {
+        List<RequestDto> requests = cursor != null
+                ? requestService.findPage(userId, PageCursor.decode(cursor), size)
+                : requestService.findAll(userId, from, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!requests.isEmpty() && requests.size() >= Math.min(size, RequestService.MAX_PAGE_SIZE)) {
+            response.header(PageCursor.NEXT_CURSOR_HEADER, RequestMapper.mapToCursor(requests.getLast()).encode());
+        }
+        return response.body(requests);
     }
 
     @GetMapping("/{requestId}")
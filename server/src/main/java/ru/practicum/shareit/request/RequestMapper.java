@@ -1,17 +1,19 @@
 package ru.practicum.shareit.request;
 
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.NewRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @NoArgsConstructor
 public class RequestMapper {
     public static Request mapToRequest(NewRequestDto newRequestDto) {
         return Request.builder()
                 .description(newRequestDto.getDescription())
-                .created(LocalDateTime.now())
+                .created(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .build();
     }
 
@@ -23,4 +25,8 @@ public class RequestMapper {
                 .created(request.getCreated())
                 .build();
     }
+
+    public static PageCursor mapToCursor(RequestDto request) {
+        return new PageCursor(request.getCreated(), request.getId());
+    }
 }
@@ -1,10 +1,24 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
     List<Request> findAllByRequesterId(Long id, Sort sortOrder);
+
+    @EntityGraph(attributePaths = "requester")
+    List<Request> findAllBy(Pageable pageable);
+
+    @Query("SELECT r FROM Request r JOIN FETCH r.requester " +
+            "WHERE r.created <= :created AND (r.created < :created OR r.id < :id) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<Request> findAllBefore(@Param("created") LocalDateTime created, @Param("id") Long id, Limit limit);
 }
@@ -1,16 +1,21 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.NewRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.util.List;
 
 public interface RequestService {
+    int MAX_PAGE_SIZE = 100;
+
     RequestDto create(Long userId, NewRequestDto request);
 
     List<RequestDto> getAllRequestsById(Long userId);
 
     List<RequestDto> findAll(Long userId, Integer from, Integer size);
 
+    List<RequestDto> findPage(Long userId, PageCursor cursor, Integer size);
+
     RequestDto findById(Long userId, Long requestId);
 }
@@ -2,7 +2,7 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,6 +11,8 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.request.RequestMapper;
 import ru.practicum.shareit.request.RequestRepository;
@@ -20,6 +22,8 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
@@ -30,6 +34,8 @@ public class RequestServiceImpl implements RequestService {
     UserService userService;
     ItemRepository itemRepository;
 
+    static final Sort SORT_BY_CREATED_DESC = Sort.by(Sort.Direction.DESC, "created", "id");
+
     @Transactional
     @Override
     public RequestDto create(Long userId, NewRequestDto newRequestDto) {
@@ -43,48 +49,54 @@ public class RequestServiceImpl implements RequestService {
     @Override
     public List<RequestDto> getAllRequestsById(Long userId) {
         userService.validateExistenceById(userId);
-        return requestRepository.findAllByRequesterId(userId, Sort.by(Sort.Direction.DESC, "created"))
-                .stream()
-                .map(request -> {
-                    RequestDto requestDto = RequestMapper.mapToRequestDto(request);
-                    loadDetails(requestDto);
-                    return requestDto;
-                })
-                .toList();
+        return withItems(requestRepository.findAllByRequesterId(userId, Sort.by(Sort.Direction.DESC, "created")));
     }
 
     @Override
     public List<RequestDto> findAll(Long userId, Integer from, Integer size) {
         userService.validateExistenceById(userId);
-        if (from < 0 || size <= 0) {
+        if (from < 0) {
             throw new ValidationException("Неверные параметры пагинации");
         }
-        return requestRepository.findAll(PageRequest.of((from / size), size,
-                        Sort.by(Sort.Direction.DESC, "created")))
-                .stream()
-                .map(request -> {
-                    RequestDto requestDto = RequestMapper.mapToRequestDto(request);
-                    loadDetails(requestDto);
-                    return requestDto;
-                })
-                .toList();
+        return withItems(requestRepository.findAllBy(OffsetPageRequest.of(from, pageSize(size),
+                SORT_BY_CREATED_DESC)));
+    }
+
+    @Override
+    public List<RequestDto> findPage(Long userId, PageCursor cursor, Integer size) {
+        userService.validateExistenceById(userId);
+        return withItems(requestRepository.findAllBefore(cursor.position(), cursor.id(), Limit.of(pageSize(size))));
     }
 
     @Override
     public RequestDto findById(Long userId, Long requestId) {
         userService.validateExistenceById(userId);
-        RequestDto requestDto = RequestMapper.mapToRequestDto(
-                requestRepository.findById(requestId)
-                        .orElseThrow(() -> new NotFoundException("Запрос с id = " + requestId + " не найден")));
-        loadDetails(requestDto);
-        return requestDto;
+        Request request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Запрос с id = " + requestId + " не найден"));
+        return withItems(List.of(request)).getFirst();
     }
 
-    @Transactional
-    private void loadDetails(RequestDto requestDto) {
-        List<ItemDto> items = itemRepository.findByRequestIdOrderByRequestIdDesc(requestDto.getId()).stream()
-                .map(ItemMapper::mapToItemDto)
+    private int pageSize(Integer size) {
+        if (size <= 0) {
+            throw new ValidationException("Неверные параметры пагинации");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private List<RequestDto> withItems(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = requests.stream().map(Request::getId).toList();
+        Map<Long, List<ItemDto>> items = itemRepository.findAllByRequestIdInOrderByIdAsc(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemMapper::mapToItemDto, Collectors.toList())));
+        return requests.stream()
+                .map(request -> {
+                    RequestDto requestDto = RequestMapper.mapToRequestDto(request);
+                    requestDto.setItems(items.getOrDefault(request.getId(), List.of()));
+                    return requestDto;
+                })
                 .toList();
-        requestDto.setItems(items);
     }
 }
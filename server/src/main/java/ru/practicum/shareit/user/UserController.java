@@ -4,6 +4,8 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.bulk.BulkResult;
+import ru.practicum.shareit.bulk.BulkWriter;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -17,6 +19,7 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class UserController {
     UserService userService;
+    BulkWriter bulkWriter;
 
     @GetMapping
     public List<UserDto> getAllUsers() {
@@ -33,6 +36,11 @@ public class UserController {
         return userService.create(createRequestDto);
     }
 
+    @PostMapping("/bulk")
+    public List<BulkResult> createAll(@RequestBody List<CreateUserDto> createRequestDtos) {
+        return bulkWriter.createAll(createRequestDtos, userService::createAll);
+    }
+
     @PatchMapping("/{userId}")
     public UserDto update(@PathVariable("userId") Long userId, @RequestBody UpdateUserDto requestDto) {
         return userService.update(userId, requestDto);
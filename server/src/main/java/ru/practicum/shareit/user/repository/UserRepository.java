@@ -3,8 +3,12 @@ package ru.practicum.shareit.user.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    List<User> findAllByEmailIn(Collection<String> emails);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.bulk.BulkResult;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
@@ -12,6 +13,8 @@ public interface UserService {
 
     UserDto create(CreateUserDto userCreateDto);
 
+    List<BulkResult> createAll(List<CreateUserDto> userCreateDtos);
+
     UserDto findById(Long userId);
 
     UserDto update(Long userId, UpdateUserDto userUpdateDto);
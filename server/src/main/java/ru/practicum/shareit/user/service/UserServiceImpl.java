@@ -1,11 +1,19 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.bulk.BulkResult;
 import ru.practicum.shareit.exception.DuplicatedDataException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
@@ -13,8 +21,11 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.user.mapper.UserMapper.mapToUserDto;
 import static ru.practicum.shareit.user.mapper.UserMapper.updateUser;
@@ -25,6 +36,8 @@ import static ru.practicum.shareit.user.mapper.UserMapper.updateUser;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     UserRepository userRepository;
+    ItemSearchIndex itemSearchIndex;
+    EntityManagerFactory entityManagerFactory;
 
     @Override
     public List<UserDto> findAll() {
@@ -41,6 +54,31 @@ public class UserServiceImpl implements UserService {
         return mapToUserDto(userRepository.save(user));
     }
 
+    /**
+     * Занятые адреса загружаются одним запросом, поэтому внутри цикла нет обращений к базе
+     * и вставки уходят пачками при фиксации.
+     */
+    @Transactional
+    @Override
+    public List<BulkResult> createAll(List<CreateUserDto> userCreateDtos) {
+        BulkResult.checkBatchSize(userCreateDtos);
+        Set<String> takenEmails = userRepository.findAllByEmailIn(userCreateDtos.stream()
+                        .map(CreateUserDto::getEmail)
+                        .toList())
+                .stream()
+                .map(User::getEmail)
+                .collect(Collectors.toCollection(HashSet::new));
+        return userCreateDtos.stream()
+                .map(userCreateDto -> BulkResult.attempt(() -> {
+                    if (!takenEmails.add(userCreateDto.getEmail())) {
+                        throw new DuplicatedDataException(String.format("Пользователь с email %s уже существует",
+                                userCreateDto.getEmail()));
+                    }
+                    return mapToUserDto(userRepository.save(UserMapper.mapToCreateUser(userCreateDto)));
+                }))
+                .toList();
+    }
+
     @Override
     public UserDto findById(Long userId) {
         return mapToUserDto(validateExistenceById(userId));
@@ -61,6 +99,8 @@ public class UserServiceImpl implements UserService {
     public void deleteById(Long userId) {
         validateExistenceById(userId);
         userRepository.deleteById(userId);
+        itemSearchIndex.removeOwner(userId);
+        evictCascadedAfterCommit();
     }
 
     @Override
@@ -83,4 +123,19 @@ public class UserServiceImpl implements UserService {
             }
         });
     }
+
+    /**
+     * Вещи и запросы пользователя удаляет каскад в базе, мимо Hibernate,
+     * поэтому их регионы кэша второго уровня сбрасываются после фиксации транзакции.
+     */
+    private void evictCascadedAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache cache = entityManagerFactory.getCache();
+                cache.evict(Item.class);
+                cache.evict(Request.class);
+            }
+        });
+    }
 }
@@ -0,0 +1,2 @@
+-- общая лента запросов листается курсором по (created, id) по всем пользователям
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
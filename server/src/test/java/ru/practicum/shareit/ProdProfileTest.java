@@ -0,0 +1,39 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сервер с основным application.properties под профилем prod, как в compose.yaml: база задаётся снаружи,
+ * остальная конфигурация (порт, миграции, ddl-auto=validate) не должна зависеть от профиля.
+ * Тестовый application.properties перекрывает основной в classpath, поэтому основной указан явно.
+ */
+class ProdProfileTest {
+    @Test
+    void startsUnderProdProfileWithSharedConfiguration() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("prod")
+                .run("--spring.config.location=file:target/classes/application.properties",
+                        "--spring.datasource.url=jdbc:h2:mem:prod",
+                        "--spring.datasource.username=shareit",
+                        "--spring.datasource.password=shareit")) {
+            Environment environment = context.getEnvironment();
+
+            assertThat(environment.getProperty("server.port")).isEqualTo("9090");
+            assertThat(environment.getProperty("spring.jpa.hibernate.ddl-auto")).isEqualTo("validate");
+            MigrationInfoService migrations = context.getBean(Flyway.class).info();
+            assertThat(migrations.applied())
+                    .extracting(migration -> migration.getVersion().getVersion())
+                    .contains("1", "3");
+            assertThat(migrations.pending()).isEmpty();
+        }
+    }
+}
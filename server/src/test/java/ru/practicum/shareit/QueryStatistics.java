@@ -0,0 +1,38 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Consumer;
+
+/**
+ * Статистика Hibernate на время одного действия: сбрасывается и включается перед ним, выключается после.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class QueryStatistics {
+    public static void withStatistics(EntityManager entityManager, Consumer<Statistics> action) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            action.accept(statistics);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    /**
+     * @return сколько SQL-запросов подготовило действие
+     */
+    public static long countStatements(EntityManager entityManager, Runnable action) {
+        long[] count = new long[1];
+        withStatistics(entityManager, statistics -> {
+            action.run();
+            count[0] = statistics.getPrepareStatementCount();
+        });
+        return count[0];
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Фиксация тестовой транзакции для проверок, которым нужен commit: кэш второго уровня, поисковый индекс.
+ * Зафиксированные данные тест удаляет сам через {@link #deleteCommittedUsers}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TestTransactions {
+    public static void commit() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+    }
+
+    public static void rollback() {
+        TestTransaction.end();
+        TestTransaction.start();
+    }
+
+    /**
+     * Откатывает текущую транзакцию и выполняет действие без неё: сервисы сами открывают и фиксируют свои.
+     */
+    public static <T> T withoutTransaction(Supplier<T> action) {
+        TestTransaction.end();
+        try {
+            return action.get();
+        } finally {
+            TestTransaction.start();
+        }
+    }
+
+    /**
+     * Откатывает текущую транзакцию и удаляет пользователей в отдельной, вместе с их вещами и запросами.
+     */
+    public static void deleteCommittedUsers(UserService userService, Long... userIds) {
+        rollback();
+        Set<Long> existing = userService.findAll().stream().map(UserDto::getId).collect(Collectors.toSet());
+        for (Long userId : userIds) {
+            if (existing.contains(userId)) {
+                userService.deleteById(userId);
+                TestTransaction.flagForCommit();
+            }
+        }
+        TestTransaction.end();
+        TestTransaction.start();
+    }
+}
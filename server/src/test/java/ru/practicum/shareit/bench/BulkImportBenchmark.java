@@ -0,0 +1,129 @@
+package ru.practicum.shareit.bench;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Пропускная способность создания вещей: одиночный {@code POST /items} против {@code POST /items/bulk}
+ * пакетами по 500 записей (размер пакета gateway по умолчанию). Запросы идут прямо на сервер с H2 по одному
+ * keep-alive соединению, поэтому накладные расходы gateway на каждый одиночный запрос в замер не входят.
+ * Запуск: {@code mvn -P bench -pl server -am test -Dtest=BulkImportBenchmark -Dsurefire.failIfNoSpecifiedTests=false}
+ */
+@Tag("benchmark")
+class BulkImportBenchmark {
+    static final int RECORDS = 5_000;
+    static final int WARM_UP_RECORDS = 1_000;
+    static final int CHUNK_SIZE = 500;
+    static final Pattern CREATED = Pattern.compile("\"status\":201");
+
+    final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void compareSingleAndBulkItemCreation() throws Exception {
+        try (ConfigurableApplicationContext server = startServer()) {
+            URI base = URI.create("http://localhost:" + ((WebServerApplicationContext) server).getWebServer().getPort());
+            String ownerId = createOwner(base);
+
+            createOneByOne(base, ownerId, WARM_UP_RECORDS);
+            createInChunks(base, ownerId, WARM_UP_RECORDS);
+
+            long singleNanos = createOneByOne(base, ownerId, RECORDS);
+            long bulkNanos = createInChunks(base, ownerId, RECORDS);
+
+            System.out.println("| Путь             | Записей | Время, мс | Записей/с |");
+            System.out.println("|------------------|---------|-----------|-----------|");
+            System.out.println(row("POST /items", singleNanos));
+            System.out.println(row("POST /items/bulk", bulkNanos));
+            System.out.printf("Ускорение: %.1fx%n", (double) singleNanos / bulkNanos);
+
+            assertThat(singleNanos).isGreaterThanOrEqualTo(bulkNanos * 10);
+        }
+    }
+
+    private long createOneByOne(URI base, String ownerId, int count) throws Exception {
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = post(base.resolve("/items"), ownerId, item(i));
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    private long createInChunks(URI base, String ownerId, int count) throws Exception {
+        long startedAt = System.nanoTime();
+        for (int from = 0; from < count; from += CHUNK_SIZE) {
+            StringJoiner chunk = new StringJoiner(",", "[", "]");
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, count); i++) {
+                chunk.add(item(i));
+            }
+            HttpResponse<String> response = post(base.resolve("/items/bulk"), ownerId, chunk.toString());
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(CREATED.matcher(response.body()).results().count())
+                    .isEqualTo(Math.min(CHUNK_SIZE, count - from));
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    private String createOwner(URI base) throws Exception {
+        HttpResponse<String> response = post(base.resolve("/users"), null,
+                "{\"name\":\"Bench\",\"email\":\"bench@yandex.ru\"}");
+        Matcher id = Pattern.compile("\"id\":(\\d+)").matcher(response.body());
+        assertThat(id.find()).isTrue();
+        return id.group(1);
+    }
+
+    private HttpResponse<String> post(URI uri, String userId, String json) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", userId);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String item(int i) {
+        return "{\"name\":\"Дрель " + i + "\",\"description\":\"Ударная дрель для бетона\",\"available\":true}";
+    }
+
+    private static String row(String path, long nanos) {
+        return String.format("| %-16s | %7d | %9d | %9.0f |", path, RECORDS, nanos / 1_000_000,
+                RECORDS * 1e9 / nanos);
+    }
+
+    /**
+     * Сервер с тестовым профилем (H2 в памяти), но без SQL- и DEBUG-логов, которые иначе занимают большую
+     * часть времени одиночного запроса.
+     */
+    static ConfigurableApplicationContext startServer() {
+        Map<String, Object> properties = Map.ofEntries(
+                Map.entry("spring.profiles.active", "test"),
+                Map.entry("server.port", 0),
+                Map.entry("spring.datasource.url", "jdbc:h2:mem:bench"),
+                Map.entry("spring.jpa.properties.hibernate.show_sql", false),
+                Map.entry("spring.jpa.properties.hibernate.generate_statistics", false),
+                Map.entry("logging.level.root", "WARN"),
+                Map.entry("logging.level.org.springframework.web", "WARN"),
+                Map.entry("logging.level.org.springframework.transaction.interceptor", "WARN"),
+                Map.entry("logging.level.org.springframework.orm.jpa.JpaTransactionManager", "WARN"));
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+}
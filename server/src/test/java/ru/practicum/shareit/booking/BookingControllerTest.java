@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -15,18 +16,23 @@ import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.bulk.BulkWriter;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
+@Import(BulkWriter.class)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 class BookingControllerTest {
 
@@ -130,7 +136,7 @@ class BookingControllerTest {
     void getAllBookingsForBooker() throws Exception {
         List<BookingDto> bookings = List.of(booking2);
 
-        when(bookingService.findAllByBookerId(1L, BookingState.ALL)).thenReturn(bookings);
+        when(bookingService.findAllByBookerId(1L, BookingState.ALL, 0, 10)).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
                         .param("state", "ALL")
@@ -151,7 +157,7 @@ class BookingControllerTest {
     void getAllBookingsForOwner() throws Exception {
         List<BookingDto> bookings = List.of(booking2);
 
-        when(bookingService.findAllByOwnerId(1L, BookingState.ALL)).thenReturn(bookings);
+        when(bookingService.findAllByOwnerId(1L, BookingState.ALL, 0, 10)).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
                         .param("state", "ALL")
@@ -167,4 +173,49 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].booker.email").value("vasyapupkin@yandex.ru"))
                 .andExpect(jsonPath("$[0].status").value("WAITING"));
     }
+
+    @Test
+    void getAllBookingsForOwnerWithPaging() throws Exception {
+        List<BookingDto> bookings = List.of(booking2);
+
+        when(bookingService.findAllByOwnerId(1L, BookingState.WAITING, 20, 5)).thenReturn(bookings);
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("state", "WAITING")
+                        .param("from", "20")
+                        .param("size", "5")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void getAllBookingsForOwnerWithCursor() throws Exception {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2030, 1, 1, 10, 0), 7L);
+
+        when(bookingService.findPageByOwnerId(1L, BookingState.ALL, cursor, 1)).thenReturn(List.of(booking2));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("cursor", cursor.encode())
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+                        BookingMapper.mapToCursor(booking2).encode()));
+    }
+
+    @Test
+    void getAllBookingsWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .param("state", "ALL")
+                        .param("cursor", "???")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
@@ -9,22 +10,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.QueryStatistics;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.bulk.BulkResult;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -43,6 +51,9 @@ public class BookingServiceTest {
     @Autowired
     BookingService bookingService;
 
+    @Autowired
+    EntityManager entityManager;
+
     static CreateUserDto user1;
     static CreateUserDto user2;
     static NewItemDto item1;
@@ -216,7 +227,7 @@ public class BookingServiceTest {
                 .build();
 
         BookingDto newBooking = bookingService.create(user4.getId(), booking);
-        List<BookingDto> bookings = bookingService.findAllByBookerId(user4.getId(), BookingState.ALL).stream().toList();
+        List<BookingDto> bookings = bookingService.findAllByBookerId(user4.getId(), BookingState.ALL, 0, 10).stream().toList();
 
         assertThat(bookings.getFirst().getId()).isEqualTo(newBooking.getId());
         assertThat(bookings.getFirst().getStart()).isEqualTo(newBooking.getStart());
@@ -238,7 +249,7 @@ public class BookingServiceTest {
                 .build();
 
         BookingDto newBooking = bookingService.create(user4.getId(), booking);
-        List<BookingDto> bookings = bookingService.findAllByOwnerId(user3.getId(), BookingState.ALL).stream().toList();
+        List<BookingDto> bookings = bookingService.findAllByOwnerId(user3.getId(), BookingState.ALL, 0, 10).stream().toList();
 
         assertThat(bookings.getFirst().getId()).isEqualTo(newBooking.getId());
         assertThat(bookings.getFirst().getStart()).isEqualTo(newBooking.getStart());
@@ -247,4 +258,274 @@ public class BookingServiceTest {
         assertThat(bookings.getFirst().getBooker()).isEqualTo(user4);
         assertThat(bookings.getFirst().getStatus()).isEqualTo(BookingStatus.WAITING);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsByOwnerPaged() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        ItemDto item = itemService.create(owner.getId(), item1);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            bookingService.create(booker.getId(), NewBookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(1))
+                    .build());
+        }
+
+        List<BookingDto> firstPage = bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 0, 2);
+        List<BookingDto> lastPage = bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 4, 2);
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.getFirst().getStart()).isEqualTo(start.plusDays(4));
+        assertThat(firstPage.get(1).getStart()).isEqualTo(start.plusDays(3));
+        assertThat(lastPage).hasSize(1);
+        assertThat(lastPage.getFirst().getStart()).isEqualTo(start);
+    }
+
+    @Test
+    void getBookingsByOwnerFromUnalignedOffset() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        ItemDto item = itemService.create(owner.getId(), item1);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            bookingService.create(booker.getId(), NewBookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(1))
+                    .build());
+        }
+
+        List<BookingDto> page = bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 3, 2);
+        List<BookingDto> clamped = bookingService.findAllByBookerId(booker.getId(), BookingState.ALL, 1, 10_000);
+
+        assertThat(page).extracting(BookingDto::getStart).containsExactly(start.plusDays(1), start);
+        assertThat(clamped).hasSize(4);
+        assertThat(clamped.getFirst().getStart()).isEqualTo(start.plusDays(3));
+    }
+
+    @Test
+    void getBookingsByOwnerLimitsPageSize() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        ItemDto item = itemService.create(owner.getId(), item1);
+        bookingService.create(booker.getId(), NewBookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusHours(1))
+                .end(LocalDateTime.now().plusHours(2))
+                .build());
+
+        assertThat(bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 0, 10_000)).hasSize(1);
+        assertThatThrownBy(() -> bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, -1, 10))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 0, 0))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void getBookingsByOwnerWithCursor() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        ItemDto item = itemService.create(owner.getId(), item1);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            bookingService.create(booker.getId(), NewBookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(i % 3))
+                    .end(start.plusDays(i % 3).plusHours(1))
+                    .build());
+        }
+
+        List<BookingDto> all = bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 0, 10);
+        List<BookingDto> walked = new ArrayList<>();
+        PageCursor cursor = null;
+        for (int i = 0; i < 3; i++) {
+            List<BookingDto> page = bookingService.findPageByOwnerId(owner.getId(), BookingState.ALL, cursor, 2);
+            walked.addAll(page);
+            cursor = page.isEmpty() ? null : BookingMapper.mapToCursor(page.getLast());
+        }
+
+        assertThat(walked).extracting(BookingDto::getId).isEqualTo(all.stream().map(BookingDto::getId).toList());
+        assertThat(bookingService.findPageByOwnerId(owner.getId(), BookingState.FUTURE, null, 10)).hasSize(5);
+        assertThat(bookingService.findPageByOwnerId(owner.getId(), BookingState.PAST, null, 10)).isEmpty();
+    }
+
+    @Test
+    void getBookingsByBookerWithCursorFiltersByState() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        ItemDto item = itemService.create(owner.getId(), item1);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<BookingDto> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(bookingService.create(booker.getId(), NewBookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(1))
+                    .build()));
+        }
+        bookingService.updateStatus(owner.getId(), created.get(1).getId(), false);
+
+        List<BookingDto> waiting = bookingService.findPageByBookerId(booker.getId(), BookingState.WAITING, null, 1);
+        List<BookingDto> nextWaiting = bookingService.findPageByBookerId(booker.getId(), BookingState.WAITING,
+                BookingMapper.mapToCursor(waiting.getFirst()), 10);
+
+        assertThat(waiting).extracting(BookingDto::getId).containsExactly(created.get(2).getId());
+        assertThat(nextWaiting).extracting(BookingDto::getId).containsExactly(created.get(0).getId());
+        assertThat(bookingService.findPageByBookerId(booker.getId(), BookingState.REJECTED, null, 10))
+                .extracting(BookingDto::getId).containsExactly(created.get(1).getId());
+        assertThat(PageCursor.decode(BookingMapper.mapToCursor(waiting.getFirst()).encode()))
+                .isEqualTo(BookingMapper.mapToCursor(waiting.getFirst()));
+        assertThatThrownBy(() -> PageCursor.decode("not-a-cursor"))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void getRejectedBookingsByOwnerMatchesCursorAndOffset() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        ItemDto item = itemService.create(owner.getId(), item1);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<BookingDto> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(bookingService.create(booker.getId(), NewBookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(1))
+                    .build()));
+        }
+        bookingService.updateStatus(owner.getId(), created.get(0).getId(), false);
+        entityManager.find(Booking.class, created.get(2).getId()).setStatus(BookingStatus.CANCELED);
+        entityManager.flush();
+
+        List<BookingDto> byOffset = bookingService.findAllByOwnerId(owner.getId(), BookingState.REJECTED, 0, 10);
+        List<BookingDto> byCursor = bookingService.findPageByOwnerId(owner.getId(), BookingState.REJECTED, null, 10);
+
+        assertThat(byOffset).extracting(BookingDto::getId)
+                .containsExactly(created.get(2).getId(), created.get(0).getId());
+        assertThat(byCursor).extracting(BookingDto::getId)
+                .isEqualTo(byOffset.stream().map(BookingDto::getId).toList());
+    }
+
+    @Test
+    void bookingListsRunConstantNumberOfQueries() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+
+        addBookingsOnDistinctItems(owner.getId(), booker.getId(), 0, 2);
+        List<Long> fewQueries = countBookingListQueries(owner.getId(), booker.getId(), 2);
+        addBookingsOnDistinctItems(owner.getId(), booker.getId(), 2, 6);
+
+        assertThat(countBookingListQueries(owner.getId(), booker.getId(), 8)).isEqualTo(fewQueries);
+    }
+
+    @Test
+    void fullOffsetPageRunsNoCountQuery() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        addBookingsOnDistinctItems(owner.getId(), booker.getId(), 0, 3);
+
+        assertThat(countQueries(() -> bookingService.findAllByBookerId(booker.getId(), BookingState.ALL, 0, 3), 3))
+                .isEqualTo(countQueries(() -> bookingService.findAllByBookerId(booker.getId(), BookingState.ALL, 0, 10), 3));
+        assertThat(countQueries(() -> bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 1, 5), 5))
+                .isEqualTo(countQueries(() -> bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL, 1, 10), 5));
+    }
+
+    @Test
+    void cursorPageSeeksBookerIndexByStart() {
+        String plan = (String) entityManager.createNativeQuery("EXPLAIN SELECT b.id FROM bookings b "
+                        + "WHERE b.booker_id = ?1 AND b.start_date <= ?2 AND (b.start_date < ?2 OR b.id < ?3) "
+                        + "ORDER BY b.start_date DESC, b.id DESC FETCH FIRST 10 ROWS ONLY")
+                .setParameter(1, 1L)
+                .setParameter(2, LocalDateTime.now())
+                .setParameter(3, 1L)
+                .getSingleResult();
+
+        assertThat(plan).containsIgnoringCase("IDX_BOOKINGS_BOOKER_START: BOOKER_ID = ?1\n        AND START_DATE <= ?2");
+    }
+
+    private void addBookingsOnDistinctItems(Long ownerId, Long bookerId, int first, int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = first; i < first + count; i++) {
+            ItemDto item = itemService.create(ownerId, item1);
+            UserDto otherBooker = userService.create(CreateUserDto.builder()
+                    .name("Booker " + i)
+                    .email("booker" + i + "@yandex.ru")
+                    .build());
+            for (Long id : List.of(bookerId, otherBooker.getId())) {
+                bookingService.create(id, NewBookingDto.builder()
+                        .itemId(item.getId())
+                        .start(start.plusDays(i))
+                        .end(start.plusDays(i).plusHours(1))
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    void creatingManyBookingsSendsBatchedInserts() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        ItemDto item = itemService.create(owner.getId(), item1);
+        entityManager.flush();
+        entityManager.clear();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        QueryStatistics.withStatistics(entityManager, statistics -> {
+            for (int i = 0; i < 20; i++) {
+                bookingService.create(booker.getId(), NewBookingDto.builder()
+                        .itemId(item.getId())
+                        .start(start.plusDays(i))
+                        .end(start.plusDays(i).plusHours(1))
+                        .build());
+            }
+            entityManager.flush();
+
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+            // пул из 50 идентификаторов может закончиться посреди цикла, смотря сколько броней создали другие тесты
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        });
+    }
+
+    @Test
+    void createAllReportsResultPerRecord() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        ItemDto item = itemService.create(owner.getId(), item1);
+        ItemDto unavailable = itemService.create(owner.getId(), NewItemDto.builder()
+                .name("Unavailable").description("Test Description").available(false).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        NewBookingDto valid = NewBookingDto.builder().itemId(item.getId()).start(start).end(start.plusDays(1)).build();
+        NewBookingDto reversed = NewBookingDto.builder().itemId(item.getId()).start(start.plusDays(1)).end(start).build();
+        NewBookingDto unknownItem = NewBookingDto.builder().itemId(-1L).start(start).end(start.plusDays(1)).build();
+        NewBookingDto notAvailable = NewBookingDto.builder().itemId(unavailable.getId()).start(start)
+                .end(start.plusDays(1)).build();
+
+        List<BulkResult> results = bookingService.createAll(booker.getId(),
+                List.of(valid, reversed, unknownItem, notAvailable));
+
+        assertThat(results).extracting(BulkResult::status).containsExactly(201, 400, 404, 400);
+        BookingDto created = (BookingDto) results.getFirst().body();
+        assertThat(created.getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThat(bookingService.findById(booker.getId(), created.getId()).getItem().getId()).isEqualTo(item.getId());
+    }
+
+    private List<Long> countBookingListQueries(Long ownerId, Long bookerId, int expectedBooker) {
+        return List.of(
+                countQueries(() -> bookingService.findAllByBookerId(bookerId, BookingState.ALL, 0, 20), expectedBooker),
+                countQueries(() -> bookingService.findPageByBookerId(bookerId, BookingState.FUTURE, null, 20),
+                        expectedBooker),
+                countQueries(() -> bookingService.findAllByOwnerId(ownerId, BookingState.WAITING, 0, 20),
+                        expectedBooker * 2),
+                countQueries(() -> bookingService.findPageByOwnerId(ownerId, BookingState.ALL, null, 20),
+                        expectedBooker * 2));
+    }
+
+    private long countQueries(Supplier<List<BookingDto>> call, int expectedBookings) {
+        entityManager.flush();
+        entityManager.clear();
+        return QueryStatistics.countStatements(entityManager, () -> {
+            assertThat(call.get()).hasSize(expectedBookings);
+        });
+    }
+}
@@ -7,8 +7,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.bulk.BulkResult;
+import ru.practicum.shareit.bulk.BulkWriter;
+import ru.practicum.shareit.config.WebConfig;
+import ru.practicum.shareit.exception.ErrorHandler;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
@@ -20,10 +26,12 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import({WebConfig.class, BulkWriter.class})
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemControllerTest {
 
@@ -79,6 +87,27 @@ public class ItemControllerTest {
 
     }
 
+    @Test
+    void createItemsInBulk() throws Exception {
+        when(itemService.createAll(userId, List.of(newItemDto, newItemDto)))
+                .thenReturn(List.of(new BulkResult(201, itemDto),
+                        new BulkResult(404, new ErrorHandler.ExceptionResponse("Запрашиваемый ресурс не найден",
+                                "Запрос не найден"))));
+
+        mvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(mapper.writeValueAsString(List.of(newItemDto, newItemDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].body.id").value(itemDto.getId()))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].body.message").value("Запрос не найден"));
+    }
+
     @Test
     void findAllOwnerItems() throws Exception {
         when(itemService.findItemsByOwner(userId)).thenReturn(List.of(itemDto));
@@ -147,7 +176,7 @@ public class ItemControllerTest {
     @Test
     void findItemsByNameOrDescription() throws Exception {
         String searchText = "2";
-        when(itemService.findItemsByText(userId, searchText))
+        when(itemService.findItemsByText(userId, searchText, 0, 10))
                 .thenReturn(List.of(itemDto2));
 
         mvc.perform(get("/items/search")
@@ -164,10 +193,28 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].requestId").value(itemDto2.getRequestId()));
     }
 
+    @Test
+    void findItemsByNameOrDescription_Paged() throws Exception {
+        String searchText = "2";
+        when(itemService.findItemsByText(userId, searchText, 5, 1))
+                .thenReturn(List.of(itemDto2));
+
+        mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("text", searchText)
+                        .param("from", "5")
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(itemDto2.getId()));
+    }
+
     @Test
     void findItemsByNameOrDescription_NotFound() throws Exception {
         String searchText = "non-existent";
-        when(itemService.findItemsByText(userId, searchText))
+        when(itemService.findItemsByText(userId, searchText, 0, 10))
                 .thenReturn(List.of());
 
         mvc.perform(get("/items/search")
@@ -208,4 +255,22 @@ public class ItemControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error").value("Запрашиваемый ресурс не найден"));
     }
+
+    @Test
+    void getItemByIdRevalidatesWithEtag() throws Exception {
+        when(itemService.findById(userId, itemId)).thenReturn(itemDto);
+
+        String etag = mvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+    }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
@@ -9,9 +10,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.QueryStatistics;
+import ru.practicum.shareit.TestTransactions;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.bulk.BulkResult;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
@@ -24,6 +28,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -46,6 +51,9 @@ public class ItemServiceTest {
     @Autowired
     RequestService requestService;
 
+    @Autowired
+    EntityManager entityManager;
+
     static CreateUserDto user1;
     static CreateUserDto user2;
     static NewItemDto item1;
@@ -217,4 +225,237 @@ public class ItemServiceTest {
         assertThatThrownBy(() -> itemService.addComment(user3.getId(), item.getId(), comment))
                 .isInstanceOf(ValidationException.class);
     }
+
+    @Test
+    void findItemsByOwnerRunsConstantNumberOfQueries() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+
+        addItemsWithHistory(owner.getId(), booker.getId(), 2);
+        long fewItemsQueries = countOwnerItemsQueries(owner.getId(), 2);
+        addItemsWithHistory(owner.getId(), booker.getId(), 8);
+        long manyItemsQueries = countOwnerItemsQueries(owner.getId(), 10);
+
+        assertThat(manyItemsQueries).isEqualTo(fewItemsQueries);
+    }
+
+    @Test
+    void findItemsByOwnerPicksApprovedLastAndNextBookings() {
+        UserDto owner = userService.create(user1);
+        UserDto booker = userService.create(user2);
+        ItemDto item = itemService.create(owner.getId(), item1);
+        LocalDateTime now = LocalDateTime.now();
+
+        BookingDto last = addBooking(owner.getId(), booker.getId(), item.getId(), now.minusDays(3), true);
+        addBooking(owner.getId(), booker.getId(), item.getId(), now.minusDays(5), true);
+        addBooking(owner.getId(), booker.getId(), item.getId(), now.minusDays(1), false);
+        BookingDto next = addBooking(owner.getId(), booker.getId(), item.getId(), now.plusDays(2), true);
+        addBooking(owner.getId(), booker.getId(), item.getId(), now.plusDays(4), true);
+        bookingService.create(booker.getId(), NewBookingDto.builder()
+                .itemId(item.getId())
+                .start(now.plusDays(1))
+                .end(now.plusDays(1).plusHours(1))
+                .build());
+        ItemDto withoutBookings = itemService.create(owner.getId(), item2);
+
+        List<ItemDto> items = itemService.findItemsByOwner(owner.getId());
+
+        assertThat(items).hasSize(2);
+        assertThat(items.getFirst().getLastBooking().getId()).isEqualTo(last.getId());
+        assertThat(items.getFirst().getNextBooking().getId()).isEqualTo(next.getId());
+        assertThat(items.get(1).getId()).isEqualTo(withoutBookings.getId());
+        assertThat(items.get(1).getLastBooking()).isNull();
+        assertThat(items.get(1).getNextBooking()).isNull();
+        assertThat(itemService.findById(owner.getId(), item.getId()).getNextBooking().getId()).isEqualTo(next.getId());
+    }
+
+    private BookingDto addBooking(Long ownerId, Long bookerId, Long itemId, LocalDateTime start, boolean approved) {
+        BookingDto booking = bookingService.create(bookerId, NewBookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(start.plusHours(1))
+                .build());
+        return bookingService.updateStatus(ownerId, booking.getId(), approved);
+    }
+
+    @Test
+    void findItemsByTextMatchesSubstringOfAvailableItems() {
+        UserDto owner = userService.create(user1);
+        ItemDto drill = itemService.create(owner.getId(), NewItemDto.builder()
+                .name("Дрель ударная").description("Мощная, для бетона").available(true).build());
+        ItemDto saw = itemService.create(owner.getId(), NewItemDto.builder()
+                .name("Пила").description("Циркулярная ДРЕЛЬ не нужна").available(true).build());
+        ItemDto hidden = itemService.create(owner.getId(), NewItemDto.builder()
+                .name("Дрель-шуруповёрт").description("Аккумуляторная").available(false).build());
+        TestTransactions.commit();
+        try {
+            assertThat(itemService.findItemsByText(owner.getId(), "дрЕль", 0, 10)).extracting(ItemDto::getId)
+                    .containsExactly(drill.getId(), saw.getId());
+            assertThat(itemService.findItemsByText(owner.getId(), "бетон", 0, 10)).extracting(ItemDto::getId)
+                    .containsExactly(drill.getId());
+            assertThat(itemService.findItemsByText(owner.getId(), "ил", 0, 10)).extracting(ItemDto::getId)
+                    .containsExactly(saw.getId());
+            assertThat(itemService.findItemsByText(owner.getId(), "дрель бетон", 0, 10)).isEmpty();
+
+            itemService.update(owner.getId(), hidden.getId(), UpdateItemDto.builder().available(true).build());
+            itemService.update(owner.getId(), saw.getId(), UpdateItemDto.builder().description("Циркулярная").build());
+            TestTransactions.commit();
+
+            assertThat(itemService.findItemsByText(owner.getId(), "дрель", 0, 10)).extracting(ItemDto::getId)
+                    .containsExactly(drill.getId(), hidden.getId());
+        } finally {
+            TestTransactions.deleteCommittedUsers(userService, owner.getId());
+        }
+    }
+
+    @Test
+    void findItemsByTextRanksNameMatchesFirstAndPages() {
+        UserDto owner = userService.create(user1);
+        ItemDto inDescription = itemService.create(owner.getId(), NewItemDto.builder()
+                .name("Пила").description("Почти как дрель").available(true).build());
+        ItemDto inNameOnce = itemService.create(owner.getId(), NewItemDto.builder()
+                .name("Дрель").description("Ударная").available(true).build());
+        ItemDto inDescriptionTwice = itemService.create(owner.getId(), NewItemDto.builder()
+                .name("Набор").description("Дрель и сверла для дрели, дрель").available(true).build());
+        ItemDto inNameTwice = itemService.create(owner.getId(), NewItemDto.builder()
+                .name("Дрель").description("Дрель с кейсом").available(true).build());
+        TestTransactions.commit();
+        try {
+            assertThat(itemService.findItemsByText(owner.getId(), "дрел", 0, 10)).extracting(ItemDto::getId)
+                    .containsExactly(inNameTwice.getId(), inNameOnce.getId(), inDescriptionTwice.getId(),
+                            inDescription.getId());
+            assertThat(itemService.findItemsByText(owner.getId(), "дрел", 1, 2)).extracting(ItemDto::getId)
+                    .containsExactly(inNameOnce.getId(), inDescriptionTwice.getId());
+            assertThat(itemService.findItemsByText(owner.getId(), "дрел", 4, 2)).isEmpty();
+            assertThatThrownBy(() -> itemService.findItemsByText(owner.getId(), "дрел", -1, 2))
+                    .isInstanceOf(ValidationException.class);
+            assertThatThrownBy(() -> itemService.findItemsByText(owner.getId(), "дрел",
+                    ItemService.MAX_SEARCH_OFFSET + 1, 2))
+                    .isInstanceOf(ValidationException.class);
+        } finally {
+            TestTransactions.deleteCommittedUsers(userService, owner.getId());
+        }
+    }
+
+    @Test
+    void findItemsByTextSeesOnlyCommittedChanges() {
+        UserDto owner = userService.create(user1);
+        UserDto searcher = userService.create(user2);
+        TestTransactions.commit();
+        try {
+            itemService.create(owner.getId(), NewItemDto.builder()
+                    .name("Дрель").description("Ударная").available(true).build());
+
+            assertThat(itemService.findItemsByText(searcher.getId(), "дрель", 0, 10)).isEmpty();
+
+            TestTransactions.rollback();
+            assertThat(itemService.findItemsByText(searcher.getId(), "дрель", 0, 10)).isEmpty();
+
+            ItemDto drill = itemService.create(owner.getId(), NewItemDto.builder()
+                    .name("Дрель").description("Ударная").available(true).build());
+            TestTransactions.commit();
+
+            assertThat(itemService.findItemsByText(searcher.getId(), "дрель", 0, 10)).extracting(ItemDto::getId)
+                    .containsExactly(drill.getId());
+
+            userService.deleteById(owner.getId());
+            TestTransactions.commit();
+
+            assertThat(itemService.findItemsByText(searcher.getId(), "дрель", 0, 10)).isEmpty();
+        } finally {
+            TestTransactions.deleteCommittedUsers(userService, owner.getId(), searcher.getId());
+        }
+    }
+
+    @Test
+    void creatingManyItemsSendsBatchedInserts() {
+        UserDto owner = userService.create(user1);
+        entityManager.flush();
+        entityManager.clear();
+        QueryStatistics.withStatistics(entityManager, statistics -> {
+            for (int i = 0; i < 20; i++) {
+                itemService.create(owner.getId(), item1);
+            }
+            entityManager.flush();
+
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        });
+    }
+
+    @Test
+    void createAllReportsResultPerRecordAndIndexesItems() {
+        UserDto owner = userService.create(user1);
+        UserDto requester = userService.create(user2);
+        RequestDto request = requestService.create(requester.getId(), NewRequestDto.builder().description("Нужна дрель").build());
+        NewItemDto answer = NewItemDto.builder().name("Дрель").description("Ударная").available(true)
+                .requestId(request.getId()).build();
+        NewItemDto unknownRequest = NewItemDto.builder().name("Дрель").description("Ударная").available(true)
+                .requestId(-1L).build();
+
+        TestTransactions.commit();
+        try {
+            List<BulkResult> results = itemService.createAll(owner.getId(), List.of(item1, unknownRequest, answer));
+            TestTransactions.commit();
+
+            assertThat(results).extracting(BulkResult::status).containsExactly(201, 404, 201);
+            ItemDto created = (ItemDto) results.get(2).body();
+            assertThat(created.getRequestId()).isEqualTo(request.getId());
+            assertThat(itemService.findItemsByOwner(owner.getId())).hasSize(2);
+            assertThat(itemService.findItemsByText(owner.getId(), "дрель", 0, 10))
+                    .extracting(ItemDto::getId)
+                    .containsExactly(created.getId());
+        } finally {
+            TestTransactions.deleteCommittedUsers(userService, owner.getId(), requester.getId());
+        }
+    }
+
+    @Test
+    void createAllFailsForUnknownOwner() {
+        assertThatThrownBy(() -> itemService.createAll(-1L, List.of(item1)))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void createAllSendsBatchedInserts() {
+        UserDto owner = userService.create(user1);
+        entityManager.flush();
+        entityManager.clear();
+        List<NewItemDto> items = Collections.nCopies(100, item1);
+        QueryStatistics.withStatistics(entityManager, statistics -> {
+            itemService.createAll(owner.getId(), items);
+            entityManager.flush();
+
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+        });
+    }
+
+    private void addItemsWithHistory(Long ownerId, Long bookerId, int count) {
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        for (int i = 0; i < count; i++) {
+            ItemDto item = itemService.create(ownerId, item1);
+            BookingDto booking = bookingService.create(bookerId, NewBookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start)
+                    .end(start.plusHours(1))
+                    .build());
+            bookingService.updateStatus(ownerId, booking.getId(), true);
+            itemService.addComment(bookerId, item.getId(), NewCommentDto.builder().text("Text").build());
+        }
+    }
+
+    private long countOwnerItemsQueries(Long ownerId, int expectedItems) {
+        entityManager.flush();
+        entityManager.clear();
+        return QueryStatistics.countStatements(entityManager, () -> {
+            List<ItemDto> items = itemService.findItemsByOwner(ownerId);
+
+            assertThat(items).hasSize(expectedItems);
+            assertThat(items).allSatisfy(item -> {
+                assertThat(item.getComments()).hasSize(1);
+                assertThat(item.getLastBooking()).isNotNull();
+            });
+        });
+    }
 }
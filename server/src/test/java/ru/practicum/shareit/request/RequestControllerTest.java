@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.NewRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.service.RequestService;
@@ -22,6 +23,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -140,4 +142,21 @@ public class RequestControllerTest {
                 .andExpect(jsonPath("$.items[0].id").value(itemDto1.getId()))
                 .andExpect(jsonPath("$.items[1].id").value(itemDto2.getId()));
     }
+
+    @Test
+    void getAllRequestsWithCursor() throws Exception {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2025, 7, 4, 12, 45, 0), 10L);
+        when(requestService.findPage(userId, cursor, 2))
+                .thenReturn(List.of(requestDto, requestDto2));
+
+        mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", cursor.encode())
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+                        RequestMapper.mapToCursor(requestDto2).encode()));
+    }
 }
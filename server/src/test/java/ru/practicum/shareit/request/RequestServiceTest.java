@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
@@ -9,8 +10,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.QueryStatistics;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.NewItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.NewRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.service.RequestService;
@@ -18,7 +23,10 @@ import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -34,6 +42,14 @@ public class RequestServiceTest {
     @Autowired
     RequestService requestService;
 
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    EntityManager entityManager;
+
+    static final PageCursor FIRST_PAGE = new PageCursor(LocalDateTime.now().plusYears(1), Long.MAX_VALUE);
+
     static CreateUserDto user1;
     static NewItemDto item1;
     static NewRequestDto itemRequest1;
@@ -94,4 +110,106 @@ public class RequestServiceTest {
         assertThat(itemRequests.getFirst().getDescription()).isEqualTo(itemRequest.getDescription());
         assertThat(itemRequests.getFirst().getRequesterName()).isEqualTo(itemRequest.getRequesterName());
     }
+
+    @Test
+    void getAllRequestsFromUnalignedOffset() {
+        UserDto user = userService.create(user1);
+        for (int i = 0; i < 5; i++) {
+            requestService.create(user.getId(), itemRequest1);
+        }
+        List<Long> all = requestService.findAll(user.getId(), 0, 10).stream()
+                .map(RequestDto::getId)
+                .toList();
+
+        List<RequestDto> page = requestService.findAll(user.getId(), 3, 2);
+
+        assertThat(page).extracting(RequestDto::getId).isEqualTo(all.subList(3, 5));
+    }
+
+    @Test
+    void getAllRequestsWithCursor() {
+        UserDto user = userService.create(user1);
+        for (int i = 0; i < 5; i++) {
+            requestService.create(user.getId(), itemRequest1);
+        }
+        List<Long> expected = requestService.findAll(user.getId(), 0, 10).stream()
+                .map(RequestDto::getId)
+                .toList();
+
+        List<RequestDto> firstPage = requestService.findAll(user.getId(), 0, 2);
+        List<RequestDto> secondPage = requestService.findPage(user.getId(), RequestMapper.mapToCursor(firstPage.getLast()), 2);
+        List<RequestDto> lastPage = requestService.findPage(user.getId(), RequestMapper.mapToCursor(secondPage.getLast()), 2);
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(2);
+        assertThat(lastPage).hasSize(1);
+        assertThat(Stream.of(firstPage, secondPage, lastPage).flatMap(List::stream).map(RequestDto::getId).toList())
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void limitsPageSize() {
+        UserDto user = userService.create(user1);
+        for (int i = 0; i <= RequestService.MAX_PAGE_SIZE; i++) {
+            requestService.create(user.getId(), itemRequest1);
+        }
+
+        assertThat(requestService.findPage(user.getId(), FIRST_PAGE, 10_000)).hasSize(RequestService.MAX_PAGE_SIZE);
+        assertThat(requestService.findAll(user.getId(), 0, 10_000)).hasSize(RequestService.MAX_PAGE_SIZE);
+        assertThatThrownBy(() -> requestService.findPage(user.getId(), FIRST_PAGE, 0))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void requestListsRunConstantNumberOfQueries() {
+        UserDto requester = userService.create(user1);
+        UserDto owner = userService.create(CreateUserDto.builder().name("Petya").email("petya@yandex.ru").build());
+
+        addRequestsWithItems(requester.getId(), owner.getId(), 2);
+        long fewFeedQueries = countQueries(() -> requestService.findAll(owner.getId(), 0, 50), 2);
+        long fewPageQueries = countQueries(() -> requestService.findPage(owner.getId(), FIRST_PAGE, 50), 2);
+        long fewOwnQueries = countQueries(() -> requestService.getAllRequestsById(requester.getId()), 2);
+        addRequestsWithItems(requester.getId(), owner.getId(), 8);
+
+        assertThat(countQueries(() -> requestService.findAll(owner.getId(), 0, 50), 10)).isEqualTo(fewFeedQueries);
+        assertThat(countQueries(() -> requestService.findPage(owner.getId(), FIRST_PAGE, 50), 10)).isEqualTo(fewPageQueries);
+        assertThat(countQueries(() -> requestService.getAllRequestsById(requester.getId()), 10)).isEqualTo(fewOwnQueries);
+    }
+
+    @Test
+    void feedCursorSeeksIndexByCreated() {
+        String plan = (String) entityManager.createNativeQuery("EXPLAIN SELECT r.id FROM requests r "
+                        + "WHERE r.created <= ?1 AND (r.created < ?1 OR r.id < ?2) "
+                        + "ORDER BY r.created DESC, r.id DESC FETCH FIRST 10 ROWS ONLY")
+                .setParameter(1, LocalDateTime.now())
+                .setParameter(2, 1L)
+                .getSingleResult();
+
+        assertThat(plan).containsIgnoringCase("IDX_REQUESTS_CREATED: CREATED <= ?1");
+    }
+
+    private void addRequestsWithItems(Long requesterId, Long ownerId, int count) {
+        for (int i = 0; i < count; i++) {
+            RequestDto request = requestService.create(requesterId, itemRequest1);
+            NewItemDto offer = NewItemDto.builder()
+                    .name("Offer")
+                    .description("Offer description")
+                    .available(true)
+                    .requestId(request.getId())
+                    .build();
+            itemService.create(ownerId, offer);
+            itemService.create(ownerId, offer);
+        }
+    }
+
+    private long countQueries(Supplier<List<RequestDto>> call, int expectedRequests) {
+        entityManager.flush();
+        entityManager.clear();
+        return QueryStatistics.countStatements(entityManager, () -> {
+            List<RequestDto> requests = call.get();
+
+            assertThat(requests).hasSize(expectedRequests);
+            assertThat(requests).allSatisfy(request -> assertThat(request.getItems()).hasSize(2));
+        });
+    }
 }
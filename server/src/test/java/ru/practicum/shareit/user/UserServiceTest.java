@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManager;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.junit.jupiter.api.BeforeAll;
@@ -9,8 +10,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.QueryStatistics;
+import ru.practicum.shareit.TestTransactions;
+import ru.practicum.shareit.bulk.BulkResult;
+import ru.practicum.shareit.bulk.BulkWriter;
 import ru.practicum.shareit.exception.DuplicatedDataException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -28,6 +38,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 public class UserServiceTest {
     @Autowired
     UserService userService;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    BulkWriter bulkWriter;
 
     static CreateUserDto user1;
     static CreateUserDto user2;
@@ -123,4 +139,84 @@ public class UserServiceTest {
         assertThatThrownBy(() -> userService.findById(user.getId()))
                 .isInstanceOf(NotFoundException.class);
     }
+
+    @Test
+    void findByIdIsServedFromSecondLevelCache() {
+        UserDto user = userService.create(user1);
+        TestTransactions.commit();
+        try {
+            userService.findById(user.getId());
+            TestTransactions.commit();
+
+            QueryStatistics.withStatistics(entityManager, statistics -> {
+                assertThat(userService.findById(user.getId()).getEmail()).isEqualTo(user1.getEmail());
+                assertThat(statistics.getPrepareStatementCount()).isZero();
+                assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isEqualTo(1);
+            });
+        } finally {
+            TestTransactions.deleteCommittedUsers(userService, user.getId());
+        }
+    }
+
+    @Test
+    void deleteUserEvictsCascadedItemsFromSecondLevelCache() {
+        UserDto owner = userService.create(user1);
+        ItemDto item = itemService.create(owner.getId(), NewItemDto.builder()
+                .name("Дрель").description("Ударная").available(true).build());
+        TestTransactions.commit();
+        try {
+            itemService.findById(owner.getId(), item.getId());
+            TestTransactions.commit();
+            jakarta.persistence.Cache cache = entityManager.getEntityManagerFactory().getCache();
+            assertThat(cache.contains(Item.class, item.getId())).isTrue();
+
+            userService.deleteById(owner.getId());
+            TestTransactions.commit();
+
+            assertThat(cache.contains(Item.class, item.getId())).isFalse();
+            UserDto other = userService.create(user2);
+            assertThatThrownBy(() -> itemService.findById(other.getId(), item.getId()))
+                    .isInstanceOf(NotFoundException.class);
+        } finally {
+            TestTransactions.deleteCommittedUsers(userService, owner.getId());
+        }
+    }
+
+    @Test
+    void createAllReportsDuplicatesPerRecord() {
+        userService.create(user1);
+        CreateUserDto user3 = CreateUserDto.builder().name("Petya").email("petya@yandex.ru").build();
+
+        List<BulkResult> results = userService.createAll(List.of(user1, user2, user3, user2));
+
+        assertThat(results).extracting(BulkResult::status).containsExactly(409, 201, 201, 409);
+        UserDto created = (UserDto) results.get(1).body();
+        assertThat(userService.findById(created.getId()).getEmail()).isEqualTo(user2.getEmail());
+        assertThat(userService.findAll()).hasSize(3);
+    }
+
+    @Test
+    void bulkWriterCreatesRecordsOneByOneWhenChunkFailsInDatabase() {
+        CreateUserDto user3 = CreateUserDto.builder().name("Petya").email("petya@yandex.ru").build();
+        CreateUserDto tooLongName = CreateUserDto.builder().name("x".repeat(300)).email("long@yandex.ru").build();
+        List<BulkResult> results = TestTransactions.withoutTransaction(() ->
+                bulkWriter.createAll(List.of(user1, tooLongName, user3), userService::createAll));
+        Long[] createdIds = results.stream()
+                .filter(result -> result.status() == 201)
+                .map(result -> ((UserDto) result.body()).getId())
+                .toArray(Long[]::new);
+        try {
+            assertThat(results).extracting(BulkResult::status).containsExactly(201, 409, 201);
+            assertThat(userService.findAll()).extracting(UserDto::getEmail)
+                    .containsExactlyInAnyOrder(user1.getEmail(), user3.getEmail());
+        } finally {
+            TestTransactions.deleteCommittedUsers(userService, createdIds);
+        }
+    }
+
+    @Test
+    void createAllRejectsEmptyBatch() {
+        assertThatThrownBy(() -> userService.createAll(List.of()))
+                .isInstanceOf(ValidationException.class);
+    }
 }
@@ -1,58 +0,0 @@
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS bookings CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS requests CASCADE;
-DROP TABLE IF EXISTS users CASCADE;
-
-CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
-  name VARCHAR(255) NOT NULL,
-  email VARCHAR(255) NOT NULL UNIQUE
-);
-
-CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
-    description VARCHAR(1000) NOT NULL,
-    requester_id BIGINT NOT NULL,
-    created TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
-    CONSTRAINT fk_requester FOREIGN KEY (requester_id) REFERENCES users(id)
-        ON UPDATE CASCADE ON DELETE CASCADE
-);
-
-CREATE TABLE IF NOT EXISTS items (
-    item_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    description VARCHAR(1000) NOT NULL,
-    is_available BOOLEAN NOT NULL,
-    owner_id BIGINT NOT NULL,
-    request_id BIGINT,
-    CONSTRAINT fk_owner FOREIGN KEY (owner_id) REFERENCES users(id)
-        ON UPDATE CASCADE ON DELETE CASCADE,
-    CONSTRAINT fk_request FOREIGN KEY (request_id) REFERENCES requests(id)
-        ON UPDATE CASCADE ON DELETE CASCADE
-);
-
-CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
-    text VARCHAR(2000) NOT NULL,
-    item_id BIGINT NOT NULL,
-    author_id BIGINT NOT NULL,
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
-    CONSTRAINT fk_author FOREIGN KEY (author_id) REFERENCES users(id)
-        ON UPDATE CASCADE ON DELETE CASCADE,
-    CONSTRAINT fk_item FOREIGN KEY (item_id) REFERENCES items(item_id)
-        ON UPDATE CASCADE ON DELETE CASCADE
-);
-
-CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
-    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    item_id BIGINT NOT NULL,
-    booker_id BIGINT NOT NULL,
-    status VARCHAR(20) NOT NULL,
-    CONSTRAINT fk_item_booking FOREIGN KEY (item_id) REFERENCES items(item_id)
-        ON UPDATE CASCADE ON DELETE CASCADE,
-    CONSTRAINT fk_booker FOREIGN KEY (booker_id) REFERENCES users(id)
-        ON UPDATE CASCADE ON DELETE CASCADE
-);
\ No newline at end of file